@@ -13,12 +13,16 @@ import com.hypixel.hytale.server.core.plugin.PluginManager;
 import de.onyxmoon.modsync.command.*;
 import de.onyxmoon.modsync.provider.ProviderRegistry;
 import de.onyxmoon.modsync.provider.UrlParserRegistry;
+import de.onyxmoon.modsync.provider.http.DownloadScheduler;
+import de.onyxmoon.modsync.provider.http.HttpResponseCache;
 import de.onyxmoon.modsync.scheduler.UpdateScheduler;
 import de.onyxmoon.modsync.service.ModDownloadService;
 import de.onyxmoon.modsync.service.ModScanService;
 import de.onyxmoon.modsync.service.ProviderFetchService;
 import de.onyxmoon.modsync.service.SelfUpgradeService;
+import de.onyxmoon.modsync.storage.ArtifactStore;
 import de.onyxmoon.modsync.storage.ConfigurationStorage;
+import de.onyxmoon.modsync.storage.FileFingerprintCache;
 import de.onyxmoon.modsync.storage.JsonModListStorage;
 import de.onyxmoon.modsync.storage.ManagedModStorage;
 import de.onyxmoon.modsync.util.CommandUtils;
@@ -29,6 +33,7 @@ import java.awt.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -47,6 +52,7 @@ public class ModSync extends JavaPlugin {
     private ConfigurationStorage configStorage;
     private JsonModListStorage modListStorage;
     private ManagedModStorage managedModStorage;
+    private FileFingerprintCache fingerprintCache;
     private ModDownloadService downloadService;
     private ModScanService scanService;
     private ProviderFetchService fetchService;
@@ -67,9 +73,15 @@ public class ModSync extends JavaPlugin {
         this.configStorage = new ConfigurationStorage(dataFolder);
         this.modListStorage = new JsonModListStorage(dataFolder);
         this.managedModStorage = new ManagedModStorage(dataFolder);
+        this.fingerprintCache = new FileFingerprintCache(dataFolder);
+        HttpResponseCache.shared().open(dataFolder.resolve("http_cache"));
+        DownloadScheduler.shared().configure(
+                () -> configStorage.getConfig().getMaxConcurrentDownloads(),
+                () -> configStorage.getConfig().getMaxDownloadsPerHost());
 
         // Initialize provider and parser registries
-        this.providerRegistry = new ProviderRegistry();
+        this.providerRegistry = new ProviderRegistry(
+                () -> Duration.ofSeconds(configStorage.getConfig().getProviderCacheTtlSeconds()));
         this.urlParserRegistry = new UrlParserRegistry(this.providerRegistry);
 
         // Initialize download service
@@ -84,12 +96,16 @@ public class ModSync extends JavaPlugin {
         }
 
         Path earlyPluginsFolder = resolveEarlyPluginsPath(serverRoot);
-        this.downloadService = new ModDownloadService(this, modsFolder, earlyPluginsFolder);
+        Path artifactStoreFolder = resolveArtifactStorePath(serverRoot, dataFolder);
+        ArtifactStore artifactStore = new ArtifactStore(artifactStoreFolder,
+                () -> configStorage.getConfig().getArtifactStoreMaxSizeMb() * 1024L * 1024L);
+        this.downloadService = new ModDownloadService(this, modsFolder, earlyPluginsFolder, artifactStore);
         this.scanService = new ModScanService(this);
         this.fetchService = new ProviderFetchService(this);
 
         LOGGER.atInfo().log("Mods folder: %s", modsFolder);
         LOGGER.atInfo().log("Early plugins folder: %s", earlyPluginsFolder);
+        LOGGER.atInfo().log("Artifact store: %s", artifactStoreFolder);
 
         // Initialize self-update service
         this.selfUpgradeService = new SelfUpgradeService(this);
@@ -187,7 +203,11 @@ public class ModSync extends JavaPlugin {
             configStorage.save();
         }
         if (managedModStorage != null) {
-            managedModStorage.save();
+            // Writes any pending changes and stops the storage writer thread
+            managedModStorage.shutdown();
+        }
+        if (fingerprintCache != null) {
+            fingerprintCache.save();
         }
 
         LOGGER.atInfo().log("ModSync shut down");
@@ -250,6 +270,10 @@ public class ModSync extends JavaPlugin {
         return managedModStorage;
     }
 
+    public FileFingerprintCache getFingerprintCache() {
+        return fingerprintCache;
+    }
+
     public ModDownloadService getDownloadService() {
         return downloadService;
     }
@@ -294,4 +318,20 @@ public class ModSync extends JavaPlugin {
         // Relative path - resolve against server root
         return serverRoot.resolve(path);
     }
+
+    /**
+     * Resolves the artifact store folder from configuration.
+     * Defaults to a folder in the plugin's data directory; relative paths resolve against the server root.
+     *
+     * @param serverRoot the server root directory
+     * @param dataFolder the plugin's data directory
+     * @return the resolved path for the artifact store
+     */
+    private Path resolveArtifactStorePath(Path serverRoot, Path dataFolder) {
+        String configuredPath = configStorage.getConfig().getArtifactStorePath();
+        if (configuredPath == null) {
+            return dataFolder.resolve("artifacts");
+        }
+        return serverRoot.resolve(configuredPath);
+    }
 }
@@ -3,8 +3,11 @@ package de.onyxmoon.modsync.api;
 import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModList;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service Provider Interface for mod list providers.
@@ -80,6 +83,33 @@ public interface ModProvider extends ModUrlParser {
      */
     CompletableFuture<ModEntry> fetchMod(String apiKey, String modId);
 
+    /**
+     * Fetches several mods by their IDs.
+     *
+     * <p>Default implementation calls {@link #fetchMod(String, String)} once per ID.
+     * Providers with a bulk endpoint should override this method to fetch all mods
+     * in as few requests as possible.</p>
+     *
+     * @param apiKey API key for authentication (may be null for sources that don't require it)
+     * @param modIds the mod identifiers
+     * @return CompletableFuture containing the fetched entries keyed by mod ID;
+     *         mods that could not be fetched are missing from the map
+     */
+    default CompletableFuture<Map<String, ModEntry>> fetchMods(String apiKey, Collection<String> modIds) {
+        Map<String, ModEntry> entries = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] futures = modIds.stream()
+                .distinct()
+                .map(modId -> fetchMod(apiKey, modId)
+                        .thenAccept(entry -> {
+                            if (entry != null) {
+                                entries.put(modId, entry);
+                            }
+                        })
+                        .exceptionally(ex -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenApply(ignored -> entries);
+    }
+
     /**
      * Fetches a single mod by its slug (URL-friendly name).
      *
@@ -1,5 +1,7 @@
 package de.onyxmoon.modsync.api;
 
+import de.onyxmoon.modsync.util.ExpectedChecksum;
+
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
@@ -23,12 +25,23 @@ public interface ModProviderWithDownloadHandler extends ModProvider {
      * @param downloadedFile the path to the downloaded temp file
      * @param actualFileName the actual filename (from Content-Disposition or fallback)
      * @param fileSize       the size of the downloaded file in bytes
+     * @param fileHash       the SHA-256 hash computed while downloading ("sha256:hexstring"),
+     *                       or null if the handler did not compute one
      */
     record DownloadResult(
             Path downloadedFile,
             String actualFileName,
-            long fileSize
-    ) {}
+            long fileSize,
+            String fileHash
+    ) {
+        /**
+         * Creates a result without a precomputed hash.
+         * The hash will be calculated from the downloaded file instead.
+         */
+        public DownloadResult(Path downloadedFile, String actualFileName, long fileSize) {
+            this(downloadedFile, actualFileName, fileSize, null);
+        }
+    }
 
     /**
      * Downloads a file from the given URL with provider-specific logic.
@@ -43,4 +56,25 @@ public interface ModProviderWithDownloadHandler extends ModProvider {
             String apiKey,
             Path targetDir
     );
+
+    /**
+     * Downloads a file, checking it against the length and hash the provider published.
+     * Handlers that stream the body should abort as soon as it exceeds the expected
+     * length. The default ignores the expectation; the downloaded file is still checked
+     * against the expected length afterwards.
+     *
+     * @param downloadUrl the URL to download from
+     * @param apiKey      the API key (may be null if not required)
+     * @param targetDir   the directory to download to (file will be created as temp file)
+     * @param expected    the length and hash the provider published for the file
+     * @return CompletableFuture containing the download result
+     */
+    default CompletableFuture<DownloadResult> download(
+            String downloadUrl,
+            String apiKey,
+            Path targetDir,
+            ExpectedChecksum expected
+    ) {
+        return download(downloadUrl, apiKey, targetDir);
+    }
 }
@@ -0,0 +1,32 @@
+package de.onyxmoon.modsync.api;
+
+/**
+ * Base exception for HTTP API errors reported by mod providers.
+ * <p>
+ * Carries the HTTP status code so callers can react to specific failures
+ * (e.g. cache "not found" answers) without knowing the provider.
+ */
+public class ProviderApiException extends RuntimeException {
+    private final int statusCode;
+
+    public ProviderApiException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public ProviderApiException(String message, int statusCode, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return true if the provider reported that the requested resource does not exist
+     */
+    public boolean isNotFound() {
+        return statusCode == 404;
+    }
+}
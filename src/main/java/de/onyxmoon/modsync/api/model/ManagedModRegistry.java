@@ -1,5 +1,7 @@
 package de.onyxmoon.modsync.api.model;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -9,19 +11,38 @@ import java.util.stream.Collectors;
  * Provides unified lookup capabilities by sourceId, name, slug, and identifier.
  *
  * <p>This class is immutable. Use {@link #toBuilder()} to create modified copies.</p>
+ *
+ * <p>Mods are held in a {@link PersistentOrderedMap}, so a registry derived via
+ * {@link #toBuilder()} shares structure with its origin and each added, replaced or
+ * removed mod costs O(log N) instead of a full copy. Iteration follows insertion order.</p>
+ *
+ * <p>Name, slug, identifier and file path lookups are served from persistent hash
+ * indexes maintained alongside the mods. Name, slug and identifier keys are lowercased;
+ * file path keys are normalized absolute paths. If several mods share a key, the first
+ * one in registry order wins.</p>
  */
 public final class ManagedModRegistry {
 
     private final String name;
-    private final Map<String, ManagedMod> mods;
+    private final PersistentOrderedMap<String, ManagedMod> mods;
     private final Instant createdAt;
     private final Instant lastModifiedAt;
 
+    // Secondary indexes: lookup key -> source IDs of all mods with that key
+    private final PersistentOrderedMap<String, List<String>> modsByName;
+    private final PersistentOrderedMap<String, List<String>> modsBySlug;
+    private final PersistentOrderedMap<String, List<String>> installedByIdentifier;
+    private final PersistentOrderedMap<String, List<String>> installedByFilePath;
+
     private ManagedModRegistry(Builder builder) {
         this.name = builder.name;
-        this.mods = Collections.unmodifiableMap(new LinkedHashMap<>(builder.mods));
+        this.mods = builder.mods;
         this.createdAt = builder.createdAt;
         this.lastModifiedAt = builder.lastModifiedAt;
+        this.modsByName = builder.modsByName;
+        this.modsBySlug = builder.modsBySlug;
+        this.installedByIdentifier = builder.installedByIdentifier;
+        this.installedByFilePath = builder.installedByFilePath;
     }
 
     // ----- Lookup methods -----
@@ -54,9 +75,10 @@ public final class ManagedModRegistry {
      * @return an Optional containing the first matching mod
      */
     public Optional<ManagedMod> findByName(String name) {
-        return mods.values().stream()
-                .filter(mod -> mod.getName() != null && mod.getName().equalsIgnoreCase(name))
-                .findFirst();
+        if (name == null) {
+            return Optional.empty();
+        }
+        return resolve(modsByName.get(lowerKey(name)));
     }
 
     /**
@@ -66,9 +88,10 @@ public final class ManagedModRegistry {
      * @return an Optional containing the first matching mod
      */
     public Optional<ManagedMod> findBySlug(String slug) {
-        return mods.values().stream()
-                .filter(mod -> mod.getSlug() != null && mod.getSlug().equalsIgnoreCase(slug))
-                .findFirst();
+        if (slug == null) {
+            return Optional.empty();
+        }
+        return resolve(modsBySlug.get(lowerKey(slug)));
     }
 
     /**
@@ -82,28 +105,51 @@ public final class ManagedModRegistry {
         if (identifier == null || !identifier.contains(":")) {
             return Optional.empty();
         }
-        return mods.values().stream()
-                .filter(ManagedMod::isInstalled)
-                .filter(mod -> mod.getIdentifierString()
-                        .map(id -> id.equalsIgnoreCase(identifier))
-                        .orElse(false))
-                .findFirst();
+        return resolve(installedByIdentifier.get(lowerKey(identifier)));
     }
 
     /**
      * Finds a mod by file path.
-     * Only searches installed mods.
+     * Only searches installed mods. Paths are compared in normalized absolute form.
      *
      * @param filePath the file path to search for
      * @return an Optional containing the mod if found
      */
     public Optional<ManagedMod> findByFilePath(String filePath) {
-        return mods.values().stream()
-                .filter(ManagedMod::isInstalled)
-                .filter(mod -> mod.getInstalledState()
-                        .map(state -> filePath.equals(state.getFilePath()))
-                        .orElse(false))
-                .findFirst();
+        if (filePath == null) {
+            return Optional.empty();
+        }
+        return resolve(installedByFilePath.get(pathKey(filePath)));
+    }
+
+    /**
+     * Picks the mod that comes first in registry order among the given source IDs.
+     */
+    private Optional<ManagedMod> resolve(List<String> sourceIds) {
+        if (sourceIds == null || sourceIds.isEmpty()) {
+            return Optional.empty();
+        }
+        String first = sourceIds.getFirst();
+        if (sourceIds.size() > 1) {
+            for (String sourceId : sourceIds) {
+                if (mods.sequenceOf(sourceId) < mods.sequenceOf(first)) {
+                    first = sourceId;
+                }
+            }
+        }
+        return Optional.ofNullable(mods.get(first));
+    }
+
+    private static String lowerKey(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String pathKey(String filePath) {
+        try {
+            return Path.of(filePath).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return filePath;
+        }
     }
 
     // ----- Collection methods -----
@@ -205,13 +251,14 @@ public final class ManagedModRegistry {
         return lastModifiedAt;
     }
 
+    /**
+     * Creates a builder initialized with this registry's contents.
+     * The mods are shared, not copied.
+     *
+     * @return a new builder
+     */
     public Builder toBuilder() {
-        Builder builder = new Builder()
-                .name(this.name)
-                .createdAt(this.createdAt)
-                .lastModifiedAt(this.lastModifiedAt);
-        this.mods.values().forEach(builder::addMod);
-        return builder;
+        return new Builder(this);
     }
 
     public static Builder builder() {
@@ -259,13 +306,28 @@ public final class ManagedModRegistry {
 
     public static final class Builder {
         private String name = "default";
-        private final Map<String, ManagedMod> mods = new LinkedHashMap<>();
+        private PersistentOrderedMap<String, ManagedMod> mods = PersistentOrderedMap.empty();
+        private PersistentOrderedMap<String, List<String>> modsByName = PersistentOrderedMap.empty();
+        private PersistentOrderedMap<String, List<String>> modsBySlug = PersistentOrderedMap.empty();
+        private PersistentOrderedMap<String, List<String>> installedByIdentifier = PersistentOrderedMap.empty();
+        private PersistentOrderedMap<String, List<String>> installedByFilePath = PersistentOrderedMap.empty();
         private Instant createdAt = Instant.now();
         private Instant lastModifiedAt = Instant.now();
 
         private Builder() {
         }
 
+        private Builder(ManagedModRegistry source) {
+            this.name = source.name;
+            this.mods = source.mods;
+            this.modsByName = source.modsByName;
+            this.modsBySlug = source.modsBySlug;
+            this.installedByIdentifier = source.installedByIdentifier;
+            this.installedByFilePath = source.installedByFilePath;
+            this.createdAt = source.createdAt;
+            this.lastModifiedAt = source.lastModifiedAt;
+        }
+
         public Builder name(String name) {
             this.name = name;
             return this;
@@ -290,7 +352,12 @@ public final class ManagedModRegistry {
          */
         public Builder addMod(ManagedMod mod) {
             if (mod != null) {
-                this.mods.put(mod.getSourceId(), mod);
+                ManagedMod previous = this.mods.get(mod.getSourceId());
+                if (previous != null) {
+                    updateIndexes(previous, false);
+                }
+                this.mods = this.mods.plus(mod.getSourceId(), mod);
+                updateIndexes(mod, true);
             }
             return this;
         }
@@ -302,7 +369,11 @@ public final class ManagedModRegistry {
          * @return this builder
          */
         public Builder removeMod(String sourceId) {
-            this.mods.remove(sourceId);
+            ManagedMod previous = sourceId != null ? this.mods.get(sourceId) : null;
+            if (previous != null) {
+                updateIndexes(previous, false);
+                this.mods = this.mods.minus(sourceId);
+            }
             return this;
         }
 
@@ -312,12 +383,59 @@ public final class ManagedModRegistry {
          * @return this builder
          */
         public Builder clearMods() {
-            this.mods.clear();
+            this.mods = PersistentOrderedMap.empty();
+            this.modsByName = PersistentOrderedMap.empty();
+            this.modsBySlug = PersistentOrderedMap.empty();
+            this.installedByIdentifier = PersistentOrderedMap.empty();
+            this.installedByFilePath = PersistentOrderedMap.empty();
             return this;
         }
 
         public ManagedModRegistry build() {
             return new ManagedModRegistry(this);
         }
+
+        private void updateIndexes(ManagedMod mod, boolean add) {
+            String sourceId = mod.getSourceId();
+            if (mod.getName() != null) {
+                modsByName = updateIndex(modsByName, lowerKey(mod.getName()), sourceId, add);
+            }
+            if (mod.getSlug() != null) {
+                modsBySlug = updateIndex(modsBySlug, lowerKey(mod.getSlug()), sourceId, add);
+            }
+            InstalledState state = mod.getInstalledState().orElse(null);
+            if (state != null) {
+                String identifier = mod.getIdentifierString().orElse(null);
+                if (identifier != null) {
+                    installedByIdentifier = updateIndex(installedByIdentifier, lowerKey(identifier), sourceId, add);
+                }
+                if (state.getFilePath() != null) {
+                    installedByFilePath = updateIndex(installedByFilePath, pathKey(state.getFilePath()), sourceId, add);
+                }
+            }
+        }
+
+        private static PersistentOrderedMap<String, List<String>> updateIndex(
+                PersistentOrderedMap<String, List<String>> index, String key, String sourceId, boolean add) {
+            List<String> sourceIds = index.getOrDefault(key, List.of());
+            if (add) {
+                if (sourceIds.contains(sourceId)) {
+                    return index;
+                }
+                List<String> updated = new ArrayList<>(sourceIds.size() + 1);
+                updated.addAll(sourceIds);
+                updated.add(sourceId);
+                return index.plus(key, List.copyOf(updated));
+            }
+            if (!sourceIds.contains(sourceId)) {
+                return index;
+            }
+            if (sourceIds.size() == 1) {
+                return index.minus(key);
+            }
+            List<String> updated = new ArrayList<>(sourceIds);
+            updated.remove(sourceId);
+            return index.plus(key, List.copyOf(updated));
+        }
     }
-}
\ No newline at end of file
+}
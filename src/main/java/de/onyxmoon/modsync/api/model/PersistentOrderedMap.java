@@ -0,0 +1,482 @@
+package de.onyxmoon.modsync.api.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, insertion-ordered hash map with structural sharing.
+ *
+ * <p>Backed by two hash array mapped tries (HAMTs) holding the same entries: one keyed
+ * by the key's hash for lookups, one keyed by an insertion sequence number for ordered
+ * iteration. {@link #plus} and {@link #minus} return a new map in O(log N), copying only
+ * the path from the root to the changed entry; everything else is shared with the
+ * original. Replacing the value of an existing key keeps its position, like
+ * {@link java.util.LinkedHashMap#put}.</p>
+ *
+ * <p>The {@link Map} mutators inherited from {@link AbstractMap} throw
+ * {@link UnsupportedOperationException}. Null keys are not permitted.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class PersistentOrderedMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    /** Levels 0-5 consume 5 bits each (bits 31..2), level 6 consumes the last 2 bits */
+    private static final int MAX_LEVEL = 6;
+
+    private static final BitmapNode EMPTY_NODE = new BitmapNode(0, new Object[0]);
+    private static final PersistentOrderedMap<?, ?> EMPTY =
+            new PersistentOrderedMap<>(EMPTY_NODE, EMPTY_NODE, 0, 0);
+
+    private final BitmapNode byKey;
+    private final BitmapNode bySeq;
+    private final int size;
+    private final int nextSeq;
+
+    private PersistentOrderedMap(BitmapNode byKey, BitmapNode bySeq, int size, int nextSeq) {
+        this.byKey = byKey;
+        this.bySeq = bySeq;
+        this.size = size;
+        this.nextSeq = nextSeq;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentOrderedMap<K, V> empty() {
+        return (PersistentOrderedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the given mapping added or replaced.
+     * A replaced key keeps its position; a new key is appended.
+     */
+    PersistentOrderedMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        int hash = keyHash(key);
+        Entry<K, V> existing = lookup(key, hash);
+        if (existing != null) {
+            if (existing.value == value) {
+                return this;
+            }
+            Entry<K, V> replacement = new Entry<>(key, value, existing.seq);
+            return new PersistentOrderedMap<>(
+                    put(byKey, 0, hash, replacement, false),
+                    put(bySeq, 0, existing.seq, replacement, true),
+                    size,
+                    nextSeq);
+        }
+
+        if (nextSeq == Integer.MAX_VALUE) {
+            // Sequence numbers exhausted - renumber densely and retry
+            return renumbered().plus(key, value);
+        }
+        Entry<K, V> entry = new Entry<>(key, value, nextSeq);
+        return new PersistentOrderedMap<>(
+                put(byKey, 0, hash, entry, false),
+                put(bySeq, 0, nextSeq, entry, true),
+                size + 1,
+                nextSeq + 1);
+    }
+
+    /**
+     * Returns a map without the given key, or this map if the key is absent.
+     */
+    PersistentOrderedMap<K, V> minus(Object key) {
+        if (key == null) {
+            return this;
+        }
+        int hash = keyHash(key);
+        Entry<K, V> existing = lookup(key, hash);
+        if (existing == null) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        return new PersistentOrderedMap<>(
+                asRoot(remove(byKey, 0, hash, key, false)),
+                asRoot(remove(bySeq, 0, existing.seq, existing.seq, true)),
+                size - 1,
+                nextSeq);
+    }
+
+    /**
+     * Returns the insertion sequence number of the given key, or -1 if absent.
+     * Lower numbers come first in iteration order.
+     */
+    int sequenceOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        Entry<K, V> entry = lookup(key, keyHash(key));
+        return entry != null ? entry.seq : -1;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<K, V> entry = lookup(key, keyHash(key));
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && lookup(key, keyHash(key)) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new OrderedIterator<>(bySeq);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private PersistentOrderedMap<K, V> renumbered() {
+        PersistentOrderedMap<K, V> result = empty();
+        for (Map.Entry<K, V> entry : entrySet()) {
+            result = result.plus(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> lookup(Object key, int hash) {
+        Object node = byKey;
+        for (int level = 0; ; level++) {
+            if (node instanceof CollisionNode collision) {
+                for (Entry<?, ?> entry : collision.entries) {
+                    if (entry.key.equals(key)) {
+                        return (Entry<K, V>) entry;
+                    }
+                }
+                return null;
+            }
+            BitmapNode bitmapNode = (BitmapNode) node;
+            int bit = 1 << index(hash, level);
+            if ((bitmapNode.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = bitmapNode.slots[bitmapNode.slotIndex(bit)];
+            if (slot instanceof Entry<?, ?> entry) {
+                return entry.key.equals(key) ? (Entry<K, V>) entry : null;
+            }
+            node = slot;
+        }
+    }
+
+    // ----- Trie operations, shared by the key trie and the sequence trie -----
+
+    /**
+     * Spreads hash codes so the high bits, which are consumed first, are well mixed.
+     */
+    private static int keyHash(Object key) {
+        return key.hashCode() * 0x9E3779B9;
+    }
+
+    /**
+     * Returns the 5-bit (2-bit on the last level) chunk of the hash for the given level,
+     * most significant bits first. Consuming the sequence number from the top keeps
+     * the sequence trie sorted in ascending order.
+     */
+    private static int index(int hash, int level) {
+        if (level < MAX_LEVEL) {
+            return (hash >>> (27 - BITS * level)) & MASK;
+        }
+        return (hash & 3) << 3;
+    }
+
+    private static int hashOf(Entry<?, ?> entry, boolean bySeq) {
+        return bySeq ? entry.seq : keyHash(entry.key);
+    }
+
+    private static boolean matches(Entry<?, ?> entry, Object key, boolean bySeq) {
+        return bySeq ? entry.seq == (Integer) key : entry.key.equals(key);
+    }
+
+    private static BitmapNode put(BitmapNode node, int level, int hash, Entry<?, ?> entry, boolean bySeq) {
+        Object key = bySeq ? (Object) entry.seq : entry.key;
+        int bit = 1 << index(hash, level);
+        int slotIndex = node.slotIndex(bit);
+
+        if ((node.bitmap & bit) == 0) {
+            return node.withInserted(bit, slotIndex, entry);
+        }
+
+        Object slot = node.slots[slotIndex];
+        Object replacement;
+        if (slot instanceof Entry<?, ?> existing) {
+            replacement = matches(existing, key, bySeq)
+                    ? entry
+                    : merge(level + 1, existing, hashOf(existing, bySeq), entry, hash);
+        } else if (slot instanceof CollisionNode collision) {
+            replacement = collision.with(entry);
+        } else {
+            replacement = put((BitmapNode) slot, level + 1, hash, entry, bySeq);
+        }
+        return node.withReplaced(slotIndex, replacement);
+    }
+
+    private static Object merge(int level, Entry<?, ?> first, int firstHash, Entry<?, ?> second, int secondHash) {
+        if (level > MAX_LEVEL) {
+            return new CollisionNode(new Entry<?, ?>[]{first, second});
+        }
+        int firstIndex = index(firstHash, level);
+        int secondIndex = index(secondHash, level);
+        if (firstIndex == secondIndex) {
+            return new BitmapNode(1 << firstIndex,
+                    new Object[]{merge(level + 1, first, firstHash, second, secondHash)});
+        }
+        Object[] slots = firstIndex < secondIndex
+                ? new Object[]{first, second}
+                : new Object[]{second, first};
+        return new BitmapNode((1 << firstIndex) | (1 << secondIndex), slots);
+    }
+
+    /**
+     * Removes the key below the given node. Returns the node itself if the key is absent,
+     * null if the node became empty, or a single {@link Entry} if the node shrank to one
+     * entry and can be inlined into its parent.
+     */
+    private static Object remove(Object node, int level, int hash, Object key, boolean bySeq) {
+        if (node instanceof CollisionNode collision) {
+            return collision.without(key);
+        }
+
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = 1 << index(hash, level);
+        if ((bitmapNode.bitmap & bit) == 0) {
+            return node;
+        }
+        int slotIndex = bitmapNode.slotIndex(bit);
+        Object slot = bitmapNode.slots[slotIndex];
+
+        Object replacement;
+        if (slot instanceof Entry<?, ?> entry) {
+            if (!matches(entry, key, bySeq)) {
+                return node;
+            }
+            replacement = null;
+        } else {
+            replacement = remove(slot, level + 1, hash, key, bySeq);
+            if (replacement == slot) {
+                return node;
+            }
+        }
+
+        BitmapNode result = replacement == null
+                ? bitmapNode.withRemoved(bit, slotIndex)
+                : bitmapNode.withReplaced(slotIndex, replacement);
+        if (result.slots.length == 0) {
+            return null;
+        }
+        if (level > 0 && result.slots.length == 1 && result.slots[0] instanceof Entry<?, ?> only) {
+            return only;
+        }
+        return result;
+    }
+
+    private static BitmapNode asRoot(Object node) {
+        return node == null ? EMPTY_NODE : (BitmapNode) node;
+    }
+
+    // ----- Nodes -----
+
+    private static final class BitmapNode {
+        final int bitmap;
+        /** Entries, sub-nodes or collision nodes, ordered by chunk index */
+        final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        int slotIndex(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        BitmapNode withInserted(int bit, int slotIndex, Object slot) {
+            Object[] copy = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, copy, 0, slotIndex);
+            copy[slotIndex] = slot;
+            System.arraycopy(slots, slotIndex, copy, slotIndex + 1, slots.length - slotIndex);
+            return new BitmapNode(bitmap | bit, copy);
+        }
+
+        BitmapNode withReplaced(int slotIndex, Object slot) {
+            Object[] copy = slots.clone();
+            copy[slotIndex] = slot;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        BitmapNode withRemoved(int bit, int slotIndex) {
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, slotIndex);
+            System.arraycopy(slots, slotIndex + 1, copy, slotIndex, slots.length - slotIndex - 1);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+    }
+
+    /**
+     * Keys whose full 32-bit hashes are equal. Only occurs in the key trie,
+     * since sequence numbers are unique.
+     */
+    private static final class CollisionNode {
+        final Entry<?, ?>[] entries;
+
+        CollisionNode(Entry<?, ?>[] entries) {
+            this.entries = entries;
+        }
+
+        CollisionNode with(Entry<?, ?> entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(entry.key)) {
+                    Entry<?, ?>[] copy = entries.clone();
+                    copy[i] = entry;
+                    return new CollisionNode(copy);
+                }
+            }
+            Entry<?, ?>[] copy = java.util.Arrays.copyOf(entries, entries.length + 1);
+            copy[entries.length] = entry;
+            return new CollisionNode(copy);
+        }
+
+        Object without(Object key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(key)) {
+                    if (entries.length == 2) {
+                        return entries[1 - i];
+                    }
+                    Entry<?, ?>[] copy = new Entry<?, ?>[entries.length - 1];
+                    System.arraycopy(entries, 0, copy, 0, i);
+                    System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+                    return new CollisionNode(copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    private static final class Entry<K, V> implements Map.Entry<K, V> {
+        final K key;
+        final V value;
+        final int seq;
+
+        Entry(K key, V value, int seq) {
+            this.key = key;
+            this.value = value;
+            this.seq = seq;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> other
+                    && key.equals(other.getKey())
+                    && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Depth-first walk over the sequence trie, yielding entries in insertion order.
+     */
+    private static final class OrderedIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<BitmapNode> nodes = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Entry<K, V> next;
+
+        OrderedIterator(BitmapNode root) {
+            nodes.push(root);
+            positions.push(0);
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!nodes.isEmpty()) {
+                BitmapNode node = nodes.peek();
+                int position = positions.pop();
+                if (position >= node.slots.length) {
+                    nodes.pop();
+                    continue;
+                }
+                positions.push(position + 1);
+                Object slot = node.slots[position];
+                if (slot instanceof Entry<?, ?> entry) {
+                    next = (Entry<K, V>) entry;
+                    return;
+                }
+                nodes.push((BitmapNode) slot);
+                positions.push(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> current = next;
+            advance();
+            return current;
+        }
+    }
+}
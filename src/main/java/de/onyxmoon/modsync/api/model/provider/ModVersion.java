@@ -2,6 +2,7 @@ package de.onyxmoon.modsync.api.model.provider;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,6 +19,7 @@ public final class ModVersion {
     private final String releaseType;
     private final Instant uploadedAt;
     private final String changelog;
+    private final Map<String, String> hashes;
 
     private ModVersion(Builder builder) {
         this.versionId = Objects.requireNonNull(builder.versionId, "versionId cannot be null");
@@ -29,6 +31,7 @@ public final class ModVersion {
         this.releaseType = builder.releaseType;
         this.uploadedAt = builder.uploadedAt;
         this.changelog = builder.changelog;
+        this.hashes = builder.hashes != null ? Map.copyOf(builder.hashes) : Map.of();
     }
 
     public String getVersionId() {
@@ -43,6 +46,12 @@ public final class ModVersion {
         return fileName;
     }
 
+    /**
+     * The file size in bytes as published by the provider. Downloads of a different
+     * length are rejected.
+     *
+     * @return the size, or 0 if unknown
+     */
     public long getFileSize() {
         return fileSize;
     }
@@ -67,6 +76,15 @@ public final class ModVersion {
         return changelog;
     }
 
+    /**
+     * Hashes of the file as published by the provider, used to verify downloads.
+     *
+     * @return lowercase hex hashes by algorithm ("sha1", "md5", ...); empty if none are published
+     */
+    public Map<String, String> getHashes() {
+        return hashes;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -84,13 +102,14 @@ public final class ModVersion {
                Objects.equals(gameVersions, that.gameVersions) &&
                Objects.equals(releaseType, that.releaseType) &&
                Objects.equals(uploadedAt, that.uploadedAt) &&
-               Objects.equals(changelog, that.changelog);
+               Objects.equals(changelog, that.changelog) &&
+               Objects.equals(hashes, that.hashes);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(versionId, versionNumber, fileName, fileSize, downloadUrl,
-                          gameVersions, releaseType, uploadedAt, changelog);
+                          gameVersions, releaseType, uploadedAt, changelog, hashes);
     }
 
     @Override
@@ -104,6 +123,7 @@ public final class ModVersion {
                ", gameVersions=" + gameVersions +
                ", releaseType='" + releaseType + '\'' +
                ", uploadedAt=" + uploadedAt +
+               ", hashes=" + hashes +
                '}';
     }
 
@@ -117,6 +137,7 @@ public final class ModVersion {
         private String releaseType;
         private Instant uploadedAt;
         private String changelog;
+        private Map<String, String> hashes;
 
         public Builder versionId(String versionId) {
             this.versionId = versionId;
@@ -163,6 +184,11 @@ public final class ModVersion {
             return this;
         }
 
+        public Builder hashes(Map<String, String> hashes) {
+            this.hashes = hashes;
+            return this;
+        }
+
         public ModVersion build() {
             return new ModVersion(this);
         }
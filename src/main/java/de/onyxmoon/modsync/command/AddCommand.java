@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.service.ProviderFetchService;
+import de.onyxmoon.modsync.util.CommandUtils;
 import de.onyxmoon.modsync.util.PermissionHelper;
 
 import javax.annotation.Nonnull;
@@ -92,15 +93,20 @@ public class AddCommand extends CommandBase {
                         .build();
 
                 // Add to managed storage
-                modSync.getManagedModStorage().addMod(managedMod);
-
-                sender.sendMessage(Message.raw("Added: ").color(Color.GREEN)
-                        .insert(Message.raw(modEntry.getName()).color(Color.WHITE))
-                        .insert(Message.raw(" (" + modEntry.getSlug() + ")").color(Color.GRAY))
-                        .insert(Message.raw(" [" + modEntry.getPluginType().getDisplayName() + "]").color(Color.CYAN)));
-                sender.sendMessage(Message.raw("Use ").color(Color.GRAY)
-                        .insert(Message.raw("/modsync install").color(Color.WHITE))
-                        .insert(Message.raw(" to download").color(Color.GRAY)));
+                modSync.getManagedModStorage().addMod(managedMod)
+                        .thenRun(() -> {
+                            sender.sendMessage(Message.raw("Added: ").color(Color.GREEN)
+                                    .insert(Message.raw(modEntry.getName()).color(Color.WHITE))
+                                    .insert(Message.raw(" (" + modEntry.getSlug() + ")").color(Color.GRAY))
+                                    .insert(Message.raw(" [" + modEntry.getPluginType().getDisplayName() + "]").color(Color.CYAN)));
+                            sender.sendMessage(Message.raw("Use ").color(Color.GRAY)
+                                    .insert(Message.raw("/modsync install").color(Color.WHITE))
+                                    .insert(Message.raw(" to download").color(Color.GRAY)));
+                        })
+                        .exceptionally(ex -> {
+                            sender.sendMessage(Message.raw("Failed to save mod list: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
+                            return null;
+                        });
             })
             .exceptionally(ex -> {
                 sender.sendMessage(Message.raw("Failed to fetch mod: " + ex.getMessage()).color(Color.RED));
@@ -9,6 +9,7 @@ import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.model.InstalledState;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.ManagedModRegistry;
+import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModVersion;
 import de.onyxmoon.modsync.util.CommandMessageFormatter;
 import de.onyxmoon.modsync.util.PermissionHelper;
@@ -17,6 +18,7 @@ import de.onyxmoon.modsync.util.VersionSelector;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -56,12 +58,15 @@ public class CheckCommand extends CommandBase {
 
         sender.sendMessage(Message.raw("Checking " + installedMods.size() + " mod(s) for updates...").color(Color.YELLOW));
 
+        // One bulk request per provider instead of one request per mod
+        Map<String, CompletableFuture<ModEntry>> modEntries = modSync.getFetchService().fetchModEntries(installedMods);
+
         AtomicInteger updatesAvailable = new AtomicInteger(0);
         AtomicInteger upToDate = new AtomicInteger(0);
         AtomicInteger failed = new AtomicInteger(0);
 
         CompletableFuture<?>[] futures = installedMods.stream()
-                .map(mod -> checkForUpdate(mod)
+                .map(mod -> checkForUpdate(mod, modEntries)
                         .thenAccept(result -> {
                             if (result.hasUpdate()) {
                                 updatesAvailable.incrementAndGet();
@@ -99,7 +104,7 @@ public class CheckCommand extends CommandBase {
                 });
     }
 
-    private CompletableFuture<CheckResult> checkForUpdate(ManagedMod mod) {
+    private CompletableFuture<CheckResult> checkForUpdate(ManagedMod mod, Map<String, CompletableFuture<ModEntry>> modEntries) {
         if (!mod.isInstalled()) {
             return CompletableFuture.completedFuture(CheckResult.upToDate("", "", null));
         }
@@ -119,7 +124,12 @@ public class CheckCommand extends CommandBase {
             );
         }
 
-        return provider.fetchMod(apiKey, mod.getModId())
+        CompletableFuture<ModEntry> fetch = modEntries.get(mod.getSourceId());
+        if (fetch == null) {
+            fetch = provider.fetchMod(apiKey, mod.getModId());
+        }
+
+        return fetch
                 .thenApply(modEntry -> {
                     VersionSelector.SelectionResult selection = VersionSelector.selectVersionWithFallback(
                             mod, modEntry, modSync.getConfigStorage().getConfig());
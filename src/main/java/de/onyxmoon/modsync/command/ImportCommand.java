@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Command: /modsync import [target] [url]
@@ -116,7 +117,7 @@ public class ImportCommand extends CommandBase {
         List<String> missingApiKeys = new ArrayList<>();
 
         fetchService.fetchFromUrl(url, missingApiKeys::add)
-                .thenAccept(result -> {
+                .thenCompose(result -> {
                     if (result == null) {
                         sender.sendMessage(Message.raw("No provider could resolve the URL. Tried: " + String.join(", ", providerNames)).color(Color.RED));
                         if (!missingApiKeys.isEmpty()) {
@@ -125,11 +126,11 @@ public class ImportCommand extends CommandBase {
                                     .insert(Message.raw("/modsync config key <provider> <key>").color(Color.WHITE))
                                     .insert(Message.raw(" to set API keys.").color(Color.GRAY)));
                         }
-                        return;
+                        return CompletableFuture.completedFuture(null);
                     }
-                    modSync.getScanService().importWithEntry(unmanagedMod, result.modEntry(), result.provider().getSource());
-                    sender.sendMessage(Message.raw("Successfully imported as: ").color(Color.GREEN)
-                            .insert(Message.raw(result.modEntry().getName()).color(Color.YELLOW)));
+                    return modSync.getScanService().importWithEntry(unmanagedMod, result.modEntry(), result.provider().getSource())
+                            .thenRun(() -> sender.sendMessage(Message.raw("Successfully imported as: ").color(Color.GREEN)
+                                    .insert(Message.raw(result.modEntry().getName()).color(Color.YELLOW))));
                 })
                 .exceptionally(ex -> {
                     sender.sendMessage(Message.raw("Import failed: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
@@ -170,11 +171,17 @@ public class ImportCommand extends CommandBase {
         if (match.isAutoImportable()) {
             // High confidence - auto import
             Objects.requireNonNull(modEntry, "modEntry cannot be null when match is auto-importable");
-            modSync.getScanService().importWithEntry(unmanagedMod, modEntry, "curseforge");
-            sender.sendMessage(Message.raw("Match found: ").color(Color.GREEN)
-                    .insert(Message.raw(modEntry.getName()).color(Color.YELLOW))
-                    .insert(Message.raw(" (" + match.confidence().getDisplayName() + ")").color(Color.GRAY)));
-            sender.sendMessage(Message.raw("Successfully imported!").color(Color.GREEN));
+            modSync.getScanService().importWithEntry(unmanagedMod, modEntry, "curseforge")
+                    .thenRun(() -> {
+                        sender.sendMessage(Message.raw("Match found: ").color(Color.GREEN)
+                                .insert(Message.raw(modEntry.getName()).color(Color.YELLOW))
+                                .insert(Message.raw(" (" + match.confidence().getDisplayName() + ")").color(Color.GRAY)));
+                        sender.sendMessage(Message.raw("Successfully imported!").color(Color.GREEN));
+                    })
+                    .exceptionally(ex -> {
+                        sender.sendMessage(Message.raw("Import failed: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
+                        return null;
+                    });
         } else {
             // Low confidence - show match but don't auto import
             Objects.requireNonNull(modEntry, "modEntry cannot be null when match has low confidence");
@@ -11,6 +11,7 @@ import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.model.InstalledState;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.ManagedModRegistry;
+import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModVersion;
 import de.onyxmoon.modsync.util.CommandUtils;
 import de.onyxmoon.modsync.util.ModSelector;
@@ -21,6 +22,7 @@ import de.onyxmoon.modsync.util.VersionSelector;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -130,12 +132,15 @@ public class InstallCommand extends CommandBase {
 
         sender.sendMessage(Message.raw("Installing " + notInstalled.size() + " mod(s)...").color(Color.YELLOW));
 
+        // One bulk request per provider instead of one request per mod
+        Map<String, CompletableFuture<ModEntry>> modEntries = modSync.getFetchService().fetchModEntries(notInstalled);
+
         AtomicInteger success = new AtomicInteger(0);
         AtomicInteger skipped = new AtomicInteger(0);
         AtomicInteger failed = new AtomicInteger(0);
 
         CompletableFuture<?>[] futures = notInstalled.stream()
-                .map(mod -> installModAsync(mod, sender, skipped)
+                .map(mod -> installModAsync(mod, modEntries, sender, skipped)
                         .thenAccept(installedState -> {
                             if (installedState != null) {
                                 success.incrementAndGet();
@@ -170,7 +175,7 @@ public class InstallCommand extends CommandBase {
     }
 
     private void installMod(CommandSender sender, ManagedMod mod) {
-        installModAsync(mod, null, null)
+        installModAsync(mod, Map.of(), null, null)
                 .thenAccept(installedState -> {
                     if (installedState != null) {
                         sender.sendMessage(Message.raw("Installed: ").insert(CommandUtils.formatModLine(mod)).color(Color.GREEN)
@@ -189,6 +194,7 @@ public class InstallCommand extends CommandBase {
 
     private CompletableFuture<InstalledState> installModAsync(
             ManagedMod mod,
+            Map<String, CompletableFuture<ModEntry>> modEntries,
             CommandSender sender,
             AtomicInteger skippedCounter) {
 
@@ -207,7 +213,12 @@ public class InstallCommand extends CommandBase {
             );
         }
 
-        return provider.fetchMod(apiKey, mod.getModId())
+        CompletableFuture<ModEntry> fetch = modEntries.get(mod.getSourceId());
+        if (fetch == null) {
+            fetch = provider.fetchMod(apiKey, mod.getModId());
+        }
+
+        return fetch
                 .thenCompose(modEntry -> {
                     VersionSelector.SelectionResult selection = VersionSelector.selectVersionWithFallback(
                             mod, modEntry, modSync.getConfigStorage().getConfig());
@@ -241,12 +252,16 @@ public class InstallCommand extends CommandBase {
                     }
 
                     return modSync.getDownloadService().downloadAndInstall(mod, version)
-                            .thenApply(installedState -> {
+                            .thenCompose(installedState -> {
                                 ManagedMod updatedMod = mod.toBuilder()
                                         .installedState(installedState)
                                         .build();
-                                modSync.getManagedModStorage().updateMod(updatedMod);
-                                return installedState;
+                                // Batched: concurrent completions are saved in a single write
+                                return modSync.getManagedModStorage()
+                                        .mutate(builder -> builder
+                                                .removeMod(updatedMod.getSourceId())
+                                                .addMod(updatedMod))
+                                        .thenApply(v -> installedState);
                             });
                 });
     }
@@ -34,6 +34,7 @@ public class ReloadCommand extends CommandBase {
         try {
             modSync.getConfigStorage().reload();
             modSync.getManagedModStorage().reload();
+            modSync.getProviderRegistry().invalidateCache();
             sender.sendMessage(Message.raw("Configuration reloaded successfully!").color(Color.GREEN));
         } catch (Exception e) {
             sender.sendMessage(Message.raw("Failed to reload configuration: " + e.getMessage()).color(Color.RED));
@@ -149,9 +149,17 @@ public class RemoveCommand extends CommandBase {
             sender.sendMessage(Message.raw("Removing installed file...").color(Color.YELLOW));
 
             modSync.getDownloadService().deleteMod(mod)
+                    .exceptionally(ex -> {
+                        // Still removed from the list; null marks the file as possibly remaining
+                        sender.sendMessage(Message.raw("Failed to delete file: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
+                        return null;
+                    })
+                    .thenCompose(deletedImmediately -> modSync.getManagedModStorage().removeMod(mod.getSourceId())
+                            .thenApply(v -> deletedImmediately))
                     .thenAccept(deletedImmediately -> {
-                        modSync.getManagedModStorage().removeMod(mod.getSourceId());
-                        if (deletedImmediately) {
+                        if (deletedImmediately == null) {
+                            sender.sendMessage(Message.raw("Removed from list (file may remain)").color(Color.YELLOW));
+                        } else if (deletedImmediately) {
                             sender.sendMessage(Message.raw("Removed: ").insert(CommandUtils.formatModLine(mod)).insert(" (file deleted)").color(Color.GREEN));
                             sender.sendMessage(Message.raw("Server restart required to fully unload the mod.").color(Color.CYAN));
                         } else {
@@ -160,27 +168,27 @@ public class RemoveCommand extends CommandBase {
                         }
                     })
                     .exceptionally(ex -> {
-                        sender.sendMessage(Message.raw("Failed to delete file: " + ex.getMessage()).color(Color.RED));
-                        modSync.getManagedModStorage().removeMod(mod.getSourceId());
-                        sender.sendMessage(Message.raw("Removed from list (file may remain)").color(Color.YELLOW));
+                        sender.sendMessage(Message.raw("Failed to save mod list: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
                         return null;
                     });
         } else {
-            modSync.getManagedModStorage().removeMod(mod.getSourceId());
-            sender.sendMessage(Message.raw("Removed: ").insert(CommandUtils.formatModLine(mod)).color(Color.GREEN));
+            modSync.getManagedModStorage().removeMod(mod.getSourceId())
+                    .thenRun(() -> sender.sendMessage(Message.raw("Removed: ").insert(CommandUtils.formatModLine(mod)).color(Color.GREEN)))
+                    .exceptionally(ex -> {
+                        sender.sendMessage(Message.raw("Failed to save mod list: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
+                        return null;
+                    });
         }
     }
 
     private CompletableFuture<Boolean> removeModAsync(ManagedMod mod) {
         if (mod.isInstalled()) {
             return modSync.getDownloadService().deleteMod(mod)
-                    .thenApply(deletedImmediately -> {
-                        modSync.getManagedModStorage().removeMod(mod.getSourceId());
-                        return deletedImmediately;
-                    });
+                    .thenCompose(deletedImmediately -> modSync.getManagedModStorage().removeMod(mod.getSourceId())
+                            .thenApply(v -> deletedImmediately));
         } else {
-            modSync.getManagedModStorage().removeMod(mod.getSourceId());
-            return CompletableFuture.completedFuture(true);
+            return modSync.getManagedModStorage().removeMod(mod.getSourceId())
+                    .thenApply(v -> true);
         }
     }
 }
@@ -78,18 +78,24 @@ public class SetChannelCommand extends CommandBase {
                 ManagedMod updatedMod = mod.toBuilder()
                         .releaseChannelOverride(channel)
                         .build();
-                modSync.getManagedModStorage().updateMod(updatedMod);
-
-                if (channel != null) {
-                    sender.sendMessage(Message.raw("Set release channel for ").color(Color.GREEN)
-                            .insert(Message.raw(mod.getName()).color(Color.WHITE))
-                            .insert(Message.raw(" to ").color(Color.GREEN))
-                            .insert(Message.raw(channel.getDisplayName()).color(Color.YELLOW)));
-                } else {
-                    sender.sendMessage(Message.raw("Removed release channel override for ").color(Color.GREEN)
-                            .insert(Message.raw(mod.getName()).color(Color.WHITE))
-                            .insert(Message.raw(" (using global default)").color(Color.GRAY)));
-                }
+                ReleaseChannel newChannel = channel;
+                modSync.getManagedModStorage().updateMod(updatedMod)
+                        .thenRun(() -> {
+                            if (newChannel != null) {
+                                sender.sendMessage(Message.raw("Set release channel for ").color(Color.GREEN)
+                                        .insert(Message.raw(mod.getName()).color(Color.WHITE))
+                                        .insert(Message.raw(" to ").color(Color.GREEN))
+                                        .insert(Message.raw(newChannel.getDisplayName()).color(Color.YELLOW)));
+                            } else {
+                                sender.sendMessage(Message.raw("Removed release channel override for ").color(Color.GREEN)
+                                        .insert(Message.raw(mod.getName()).color(Color.WHITE))
+                                        .insert(Message.raw(" (using global default)").color(Color.GRAY)));
+                            }
+                        })
+                        .exceptionally(ex -> {
+                            sender.sendMessage(Message.raw("Failed to save mod list: " + CommandUtils.extractErrorMessage(ex)).color(Color.RED));
+                            return null;
+                        });
             }
             case SelectionResult.NotFound notFound ->
                 sender.sendMessage(Message.raw("Mod not found: " + notFound.query()).color(Color.RED));
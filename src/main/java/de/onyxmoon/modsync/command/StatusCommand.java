@@ -7,13 +7,14 @@ import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import de.onyxmoon.modsync.BuildInfo;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.ModProvider;
-import de.onyxmoon.modsync.api.model.provider.ModList;
+import de.onyxmoon.modsync.provider.http.DownloadScheduler;
+import de.onyxmoon.modsync.provider.http.RateLimiterRegistry;
+import de.onyxmoon.modsync.storage.model.ModListMetadata;
 import de.onyxmoon.modsync.storage.model.PluginConfig;
 import de.onyxmoon.modsync.util.PermissionHelper;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -52,30 +53,24 @@ public class StatusCommand extends CommandBase {
         sender.sendMessage(Message.raw("Update Mode: ").color(Color.GRAY)
                 .insert(Message.raw(config.getUpdateMode().toString()).color(Color.WHITE)));
 
-        Optional<Instant> lastUpdate = modSync.getModListStorage().getLastUpdateTime();
-        Optional<ModList> modList = lastUpdate.isPresent()
-                ? modSync.getModListStorage().load()
-                : Optional.empty();
+        Optional<ModListMetadata> metadata = modSync.getModListStorage().getMetadata();
 
-        if (modList.isPresent()) {
-            String sourceDisplayName = modSync.getProviderRegistry().getDisplayName(modList.get().getSource());
+        if (metadata.isPresent()) {
+            String sourceDisplayName = modSync.getProviderRegistry().getDisplayName(metadata.get().getSource());
             sender.sendMessage(Message.raw("Mod List Source: ").color(Color.GRAY)
                     .insert(Message.raw(sourceDisplayName).color(Color.WHITE)));
             sender.sendMessage(Message.raw("Project ID: ").color(Color.GRAY)
-                    .insert(Message.raw(modList.get().getProjectId()).color(Color.WHITE)));
+                    .insert(Message.raw(metadata.get().getProjectId()).color(Color.WHITE)));
         } else if (config.getCurrentProjectId() != null) {
             sender.sendMessage(Message.raw("Project ID: ").color(Color.GRAY)
                     .insert(Message.raw(config.getCurrentProjectId()).color(Color.WHITE)));
         }
 
-        if (lastUpdate.isPresent()) {
+        if (metadata.isPresent()) {
             sender.sendMessage(Message.raw("Last Update: ").color(Color.GRAY)
-                    .insert(Message.raw(FORMATTER.format(lastUpdate.get())).color(Color.WHITE)));
-
-            modList.ifPresent(list ->
-                sender.sendMessage(Message.raw("Mods Loaded: ").color(Color.GRAY)
-                        .insert(Message.raw(String.valueOf(list.getMods().size())).color(Color.WHITE)))
-            );
+                    .insert(Message.raw(FORMATTER.format(metadata.get().getStoredAt())).color(Color.WHITE)));
+            sender.sendMessage(Message.raw("Mods Loaded: ").color(Color.GRAY)
+                    .insert(Message.raw(String.valueOf(metadata.get().getModCount())).color(Color.WHITE)));
         } else {
             sender.sendMessage(Message.raw("Last Update: ").color(Color.GRAY)
                     .insert(Message.raw("Never").color(Color.RED)));
@@ -93,5 +88,23 @@ public class StatusCommand extends CommandBase {
             sender.sendMessage(Message.raw(provider.getDisplayName() + " API Key: ").color(Color.GRAY)
                     .insert(Message.raw(hasApiKey ? "Set" : "Not set").color(Color.WHITE)));
         });
+
+        RateLimiterRegistry.shared().getStats().stream()
+                .filter(stats -> stats.granted() > 0 || stats.queueDepth() > 0)
+                .forEach(stats -> {
+                    String displayName = modSync.getProviderRegistry().getDisplayName(stats.name());
+                    String summary = String.format("%d/min, %d queued, avg wait %.0f ms, max %.0f ms, %d throttled",
+                            stats.requestsPerMinute(), stats.queueDepth(),
+                            stats.averageWaitMillis(), stats.maxWaitMillis(), stats.throttled());
+                    sender.sendMessage(Message.raw(displayName + " Rate Limit: ").color(Color.GRAY)
+                            .insert(Message.raw(summary).color(Color.WHITE)));
+                });
+
+        DownloadScheduler.Stats downloads = DownloadScheduler.shared().getStats();
+        String downloadSummary = String.format("%d running, %d queued, %d completed, %d failed (max %d, %d per host)",
+                downloads.inFlight(), downloads.queued(), downloads.completed(), downloads.failed(),
+                config.getMaxConcurrentDownloads(), config.getMaxDownloadsPerHost());
+        sender.sendMessage(Message.raw("Downloads: ").color(Color.GRAY)
+                .insert(Message.raw(downloadSummary).color(Color.WHITE)));
     }
 }
@@ -11,6 +11,7 @@ import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.model.InstalledState;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.ManagedModRegistry;
+import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModVersion;
 import de.onyxmoon.modsync.util.CommandMessageFormatter;
 import de.onyxmoon.modsync.util.CommandUtils;
@@ -22,6 +23,7 @@ import de.onyxmoon.modsync.util.VersionSelector;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -108,7 +110,7 @@ public class UpgradeCommand extends CommandBase {
                     return;
                 }
                 sender.sendMessage(Message.raw("Checking for update: " + mod.getName() + "...").color(Color.YELLOW));
-                upgradeMod(mod)
+                upgradeMod(mod, Map.of())
                         .thenAccept(upgradeResult -> {
                             switch (upgradeResult) {
                                 case UpgradeResult.Upgraded u -> {
@@ -156,13 +158,16 @@ public class UpgradeCommand extends CommandBase {
 
         sender.sendMessage(Message.raw("Checking " + installedMods.size() + " mod(s) for updates...").color(Color.YELLOW));
 
+        // One bulk request per provider instead of one request per mod
+        Map<String, CompletableFuture<ModEntry>> modEntries = modSync.getFetchService().fetchModEntries(installedMods);
+
         AtomicInteger upgraded = new AtomicInteger(0);
         AtomicInteger upToDate = new AtomicInteger(0);
         AtomicInteger skipped = new AtomicInteger(0);
         AtomicInteger failed = new AtomicInteger(0);
 
         CompletableFuture<?>[] futures = installedMods.stream()
-                .map(mod -> upgradeMod(mod)
+                .map(mod -> upgradeMod(mod, modEntries)
                         .thenAccept(result -> {
                             switch (result) {
                                 case UpgradeResult.Upgraded u -> {
@@ -221,7 +226,7 @@ public class UpgradeCommand extends CommandBase {
                 });
     }
 
-    private CompletableFuture<UpgradeResult> upgradeMod(ManagedMod mod) {
+    private CompletableFuture<UpgradeResult> upgradeMod(ManagedMod mod, Map<String, CompletableFuture<ModEntry>> modEntries) {
         if (!mod.isInstalled()) {
             return CompletableFuture.completedFuture(new UpgradeResult.Skipped());
         }
@@ -243,7 +248,12 @@ public class UpgradeCommand extends CommandBase {
             );
         }
 
-        return provider.fetchMod(apiKey, mod.getModId())
+        CompletableFuture<ModEntry> fetch = modEntries.get(mod.getSourceId());
+        if (fetch == null) {
+            fetch = provider.fetchMod(apiKey, mod.getModId());
+        }
+
+        return fetch
                 .thenCompose(modEntry -> {
                     VersionSelector.SelectionResult selection = VersionSelector.selectVersionWithFallback(
                             mod, modEntry, modSync.getConfigStorage().getConfig());
@@ -273,12 +283,20 @@ public class UpgradeCommand extends CommandBase {
                     // Delete old version and install new
                     return modSync.getDownloadService().deleteMod(mod)
                             .thenCompose(v -> modSync.getDownloadService().downloadAndInstall(mod, latestVersion))
-                            .thenApply(newInstalledState -> {
+                            .thenCompose(newInstalledState -> {
                                 ManagedMod updatedMod = mod.toBuilder()
                                         .installedState(newInstalledState)
                                         .build();
-                                modSync.getManagedModStorage().updateMod(updatedMod);
-                                return new UpgradeResult.Upgraded(oldVersionNumber, newVersionNumber, selection);
+                                // The cached entry led to this upgrade; make the next check fetch fresh data
+                                modSync.getProviderRegistry().invalidateCachedMod(
+                                        mod.getSource(), mod.getModId(), mod.getSlug());
+                                // Batched: concurrent completions are saved in a single write
+                                return modSync.getManagedModStorage()
+                                        .mutate(builder -> builder
+                                                .removeMod(updatedMod.getSourceId())
+                                                .addMod(updatedMod))
+                                        .thenApply(v -> (UpgradeResult) new UpgradeResult.Upgraded(
+                                                oldVersionNumber, newVersionNumber, selection));
                             });
                 });
     }
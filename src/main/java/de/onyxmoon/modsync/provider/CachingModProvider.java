@@ -0,0 +1,186 @@
+package de.onyxmoon.modsync.provider;
+
+import de.onyxmoon.modsync.api.InvalidModUrlException;
+import de.onyxmoon.modsync.api.ModProvider;
+import de.onyxmoon.modsync.api.ModProviderWithDownloadHandler;
+import de.onyxmoon.modsync.api.ParsedModUrl;
+import de.onyxmoon.modsync.api.model.provider.ModEntry;
+import de.onyxmoon.modsync.api.model.provider.ModList;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ModProvider decorator that serves mod lookups from a shared {@link ProviderCache}.
+ * <p>
+ * Caches {@link #fetchMod}, {@link #fetchMods}, {@link #fetchModBySlug} and
+ * {@link #searchMods}; everything else is passed through unchanged. Entries fetched by
+ * slug are also stored under their mod ID, so a later lookup by ID is a cache hit.
+ * Use {@link #wrap(ModProvider, ProviderCache)} so providers with a download handler
+ * keep exposing it.
+ */
+public class CachingModProvider implements ModProvider {
+    static final String KIND_MOD = "mod";
+    static final String KIND_SLUG = "slug";
+    static final String KIND_SEARCH = "search";
+
+    private final ModProvider delegate;
+    private final ProviderCache cache;
+
+    private CachingModProvider(ModProvider delegate, ProviderCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * Wraps a provider with caching.
+     *
+     * @param provider the provider to wrap
+     * @param cache    the shared cache
+     * @return the caching provider; implements {@link ModProviderWithDownloadHandler}
+     *         if the wrapped provider does
+     */
+    public static ModProvider wrap(ModProvider provider, ProviderCache cache) {
+        if (provider instanceof ModProviderWithDownloadHandler handler) {
+            return new WithDownloadHandler(handler, cache);
+        }
+        return new CachingModProvider(provider, cache);
+    }
+
+    static String normalizeSlug(String slug) {
+        return slug == null ? "" : slug.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public CompletableFuture<ModEntry> fetchMod(String apiKey, String modId) {
+        return cache.getOrFetch(key(KIND_MOD, modId), () -> delegate.fetchMod(apiKey, modId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ModEntry>> fetchMods(String apiKey, Collection<String> modIds) {
+        Map<String, ModEntry> cached = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String modId : new LinkedHashSet<>(modIds)) {
+            ModEntry entry = cache.getIfPresent(key(KIND_MOD, modId));
+            if (entry != null) {
+                cached.put(modId, entry);
+            } else {
+                missing.add(modId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return delegate.fetchMods(apiKey, missing)
+                .thenApply(fetched -> {
+                    Map<String, ModEntry> entries = new HashMap<>(cached);
+                    fetched.forEach((modId, entry) -> {
+                        cache.put(key(KIND_MOD, modId), entry);
+                        entries.put(modId, entry);
+                    });
+                    return entries;
+                });
+    }
+
+    @Override
+    public CompletableFuture<ModEntry> fetchModBySlug(String apiKey, String slug) {
+        return cache.getOrFetch(key(KIND_SLUG, normalizeSlug(slug)), () -> delegate.fetchModBySlug(apiKey, slug)
+                .thenApply(entry -> {
+                    if (entry != null && entry.getModId() != null) {
+                        cache.put(key(KIND_MOD, entry.getModId()), entry);
+                    }
+                    return entry;
+                }));
+    }
+
+    @Override
+    public CompletableFuture<List<ModEntry>> searchMods(String apiKey, String searchTerm) {
+        return cache.getOrFetch(key(KIND_SEARCH, searchTerm), () -> delegate.searchMods(apiKey, searchTerm));
+    }
+
+    @Override
+    public String getSource() {
+        return delegate.getSource();
+    }
+
+    @Override
+    public CompletableFuture<ModList> fetchModList(String apiKey, String projectId) {
+        return delegate.fetchModList(apiKey, projectId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> validateApiKey(String apiKey) {
+        return delegate.validateApiKey(apiKey);
+    }
+
+    @Override
+    public boolean requiresApiKey() {
+        return delegate.requiresApiKey();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return delegate.getDisplayName();
+    }
+
+    @Override
+    public int getRateLimit() {
+        return delegate.getRateLimit();
+    }
+
+    @Override
+    public int getUrlParsePriority() {
+        return delegate.getUrlParsePriority();
+    }
+
+    @Override
+    public boolean canParse(String url) {
+        return delegate.canParse(url);
+    }
+
+    @Override
+    public ParsedModUrl parse(String url) throws InvalidModUrlException {
+        return delegate.parse(url);
+    }
+
+    @Override
+    public String toString() {
+        return "CachingModProvider{" + delegate.getClass().getName() + '}';
+    }
+
+    private ProviderCache.Key key(String kind, String value) {
+        return new ProviderCache.Key(delegate.getSource(), kind, value);
+    }
+
+    /**
+     * Variant for providers with custom download logic; downloads are never cached.
+     */
+    private static final class WithDownloadHandler extends CachingModProvider implements ModProviderWithDownloadHandler {
+        private final ModProviderWithDownloadHandler handler;
+
+        private WithDownloadHandler(ModProviderWithDownloadHandler handler, ProviderCache cache) {
+            super(handler, cache);
+            this.handler = handler;
+        }
+
+        @Override
+        public CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir) {
+            return handler.download(downloadUrl, apiKey, targetDir);
+        }
+
+        @Override
+        public CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir,
+                                                          ExpectedChecksum expected) {
+            return handler.download(downloadUrl, apiKey, targetDir, expected);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package de.onyxmoon.modsync.provider;
+
+import de.onyxmoon.modsync.api.ProviderApiException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-limited cache of provider lookup results shared by all providers.
+ * <p>
+ * Entries expire after the configured TTL and the least recently used entry is evicted
+ * once {@link #MAX_ENTRIES} is reached. "Not found" answers (see
+ * {@link ProviderApiException#isNotFound()}) are cached as well, but for at most
+ * {@link #NOT_FOUND_TTL}. Other failures are never cached.
+ */
+public class ProviderCache {
+    public static final int MAX_ENTRIES = 2000;
+    private static final Duration NOT_FOUND_TTL = Duration.ofSeconds(60);
+
+    /**
+     * Cache key.
+     *
+     * @param source provider source identifier
+     * @param kind   the kind of lookup (e.g. "mod", "slug", "search")
+     * @param value  the looked up value
+     */
+    public record Key(String source, String kind, String value) {
+    }
+
+    private record Entry(Object value, RuntimeException failure, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final Supplier<Duration> ttl;
+
+    // Guarded by this; access order for LRU eviction
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * @param ttl supplies the current time-to-live; read on every store so config
+     *            changes apply without rebuilding the cache. Zero disables caching.
+     */
+    public ProviderCache(Supplier<Duration> ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the cached result for the key, or runs the fetch and caches its outcome.
+     *
+     * @param key   the cache key
+     * @param fetch performs the lookup on a cache miss
+     * @return the cached or fetched result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getOrFetch(Key key, Supplier<CompletableFuture<T>> fetch) {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return entry.failure() != null
+                    ? CompletableFuture.failedFuture(entry.failure())
+                    : CompletableFuture.completedFuture((T) entry.value());
+        }
+
+        return fetch.get().whenComplete((value, ex) -> {
+            if (ex == null) {
+                put(key, value);
+            } else if (unwrap(ex) instanceof ProviderApiException apiEx && apiEx.isNotFound()) {
+                putNotFound(key, apiEx);
+            }
+        });
+    }
+
+    /**
+     * Returns a cached value without fetching.
+     *
+     * @param key the cache key
+     * @return the value, or null if not cached (or cached as not found)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(Key key) {
+        Entry entry = lookup(key);
+        return entry != null ? (T) entry.value() : null;
+    }
+
+    /**
+     * Stores a value, e.g. a result obtained through a different lookup.
+     *
+     * @param key   the cache key
+     * @param value the value; null values are ignored
+     */
+    public void put(Key key, Object value) {
+        Duration timeToLive = ttl.get();
+        if (value == null || timeToLive.isZero() || timeToLive.isNegative()) {
+            return;
+        }
+        store(key, new Entry(value, null, System.nanoTime() + timeToLive.toNanos()));
+    }
+
+    /**
+     * Removes a single cached lookup.
+     *
+     * @param key the cache key
+     */
+    public synchronized void invalidate(Key key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all cached lookups.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    private void putNotFound(Key key, RuntimeException failure) {
+        Duration timeToLive = ttl.get();
+        if (timeToLive.isZero() || timeToLive.isNegative()) {
+            return;
+        }
+        Duration notFoundTtl = timeToLive.compareTo(NOT_FOUND_TTL) < 0 ? timeToLive : NOT_FOUND_TTL;
+        store(key, new Entry(null, failure, System.nanoTime() + notFoundTtl.toNanos()));
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    private synchronized Entry lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
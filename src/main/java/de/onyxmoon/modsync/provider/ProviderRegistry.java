@@ -4,6 +4,7 @@ import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.ModProvider;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -11,9 +12,12 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Registry for mod list providers using ServiceLoader.
+ * Providers are wrapped with {@link CachingModProvider}, so mod lookups are shared
+ * between commands and the scheduler through one {@link ProviderCache}.
  */
 public class ProviderRegistry {
     private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
@@ -24,9 +28,14 @@ public class ProviderRegistry {
      * Key is the source identifier (lowercase), e.g., "curseforge", "modtale".
      */
     private final Map<String, ModProvider> providers;
+    private final ProviderCache cache;
 
-    public ProviderRegistry() {
+    /**
+     * @param cacheTtl supplies the time-to-live of cached provider lookups
+     */
+    public ProviderRegistry(Supplier<Duration> cacheTtl) {
         this.providers = new ConcurrentHashMap<>();
+        this.cache = new ProviderCache(cacheTtl);
         loadProviders();
     }
 
@@ -50,7 +59,7 @@ public class ProviderRegistry {
                     LOGGER.atInfo().log("Service candidate via %s: %s", cl, p.type().getName());
                     try {
                         ModProvider prov = p.get(); // instanziieren
-                        providers.put(prov.getSource(), prov);
+                        providers.put(prov.getSource(), CachingModProvider.wrap(prov, cache));
                         LOGGER.atInfo().log("Registered provider via %s: %s", cl, prov.getClass().getName());
                     } catch (Throwable t) {
                         LOGGER.atSevere().withCause(t).log("Failed to instantiate provider %s via %s", p.type().getName(), cl);
@@ -113,4 +122,30 @@ public class ProviderRegistry {
         ModProvider provider = providers.get(source.toLowerCase());
         return provider != null ? provider.getDisplayName() : source;
     }
+
+    /**
+     * Drops cached lookups of a mod, so the next check sees fresh data.
+     *
+     * @param source the source identifier
+     * @param modId  the mod ID
+     * @param slug   the mod slug (may be null)
+     */
+    public void invalidateCachedMod(String source, String modId, String slug) {
+        ModProvider provider = source != null ? providers.get(source.toLowerCase()) : null;
+        if (provider == null) {
+            return;
+        }
+        cache.invalidate(new ProviderCache.Key(provider.getSource(), CachingModProvider.KIND_MOD, modId));
+        if (slug != null) {
+            cache.invalidate(new ProviderCache.Key(provider.getSource(), CachingModProvider.KIND_SLUG,
+                    CachingModProvider.normalizeSlug(slug)));
+        }
+    }
+
+    /**
+     * Drops all cached provider lookups.
+     */
+    public void invalidateCache() {
+        cache.invalidateAll();
+    }
 }
@@ -127,7 +127,10 @@ public class CfWidgetAdapter {
                 stringValue(file, "url"),
                 stringValue(file, "downloadUrl")
         );
-        long fileSize = longValue(file, "size");
+        long fileSize = longValue(file, "filesize");
+        if (fileSize <= 0) {
+            fileSize = longValue(file, "size");
+        }
         String releaseType = stringValue(file, "type");
         Instant uploadedAt = parseInstant(firstNonBlank(
                 stringValue(file, "uploaded_at"),
@@ -7,6 +7,7 @@ import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModList;
 import de.onyxmoon.modsync.provider.cfwidget.client.CfWidgetApiException;
 import de.onyxmoon.modsync.provider.cfwidget.client.CfWidgetClient;
+import de.onyxmoon.modsync.provider.http.RateLimiterRegistry;
 
 import java.time.Instant;
 import java.util.List;
@@ -31,7 +32,7 @@ public class CfWidgetProvider implements ModProvider {
     private final CfWidgetUrlParser urlParser;
 
     public CfWidgetProvider() {
-        this.client = new CfWidgetClient();
+        this.client = new CfWidgetClient(RateLimiterRegistry.shared().get(SOURCE, RATE_LIMIT));
         this.adapter = new CfWidgetAdapter();
         this.urlParser = new CfWidgetUrlParser(SOURCE);
     }
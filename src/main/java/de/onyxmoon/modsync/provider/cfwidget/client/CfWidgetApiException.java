@@ -1,22 +1,17 @@
 package de.onyxmoon.modsync.provider.cfwidget.client;
 
+import de.onyxmoon.modsync.api.ProviderApiException;
+
 /**
  * Custom exception for CFWidget API errors.
  */
-public class CfWidgetApiException extends RuntimeException {
-    private final int statusCode;
+public class CfWidgetApiException extends ProviderApiException {
 
     public CfWidgetApiException(String message, int statusCode) {
-        super(message);
-        this.statusCode = statusCode;
+        super(message, statusCode);
     }
 
     public CfWidgetApiException(String message, int statusCode, Throwable cause) {
-        super(message, cause);
-        this.statusCode = statusCode;
-    }
-
-    public int getStatusCode() {
-        return statusCode;
+        super(message, statusCode, cause);
     }
 }
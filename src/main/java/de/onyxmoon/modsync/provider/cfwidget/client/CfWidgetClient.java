@@ -3,12 +3,17 @@ package de.onyxmoon.modsync.provider.cfwidget.client;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import de.onyxmoon.modsync.provider.http.HttpResponseCache;
+import de.onyxmoon.modsync.provider.http.JsonBodyHandler;
+import de.onyxmoon.modsync.provider.http.RateLimitedHttp;
+import de.onyxmoon.modsync.provider.http.RateLimiter;
+import de.onyxmoon.modsync.provider.http.RequestKey;
+import de.onyxmoon.modsync.provider.http.SingleFlight;
 
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
@@ -32,8 +37,16 @@ public class CfWidgetClient {
 
     private static final Gson SHARED_GSON = new GsonBuilder().create();
 
-    public CfWidgetClient() {
-        // No instance state needed - all resources are shared
+    /**
+     * Concurrent identical requests (same project path) share one HTTP call and its decoded response.
+     * Every caller receives the same {@link JsonObject}, so it must be treated as read-only.
+     */
+    private static final SingleFlight<RequestKey, JsonObject> IN_FLIGHT = new SingleFlight<>();
+
+    private final RateLimiter rateLimiter;
+
+    public CfWidgetClient(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
     }
 
     public CompletableFuture<JsonObject> getProject(String pathOrId) {
@@ -46,20 +59,24 @@ public class CfWidgetClient {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .header("Accept", "application/json")
+                .header("Accept-Encoding", JsonBodyHandler.ACCEPT_ENCODING)
                 .GET()
                 .build();
 
-        return SHARED_HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
+        return IN_FLIGHT.execute(new RequestKey("GET", url, null, null), () -> HttpResponseCache.shared().sendAsync(request, null,
+                        new JsonBodyHandler<>(SHARED_GSON, JsonObject.class),
+                        (conditional, bodyHandler) -> RateLimitedHttp.sendAsync(
+                                SHARED_HTTP_CLIENT, rateLimiter, conditional, bodyHandler))
+                .thenApplyAsync(response -> {
                     int status = response.statusCode();
                     if (status == 200) {
-                        return SHARED_GSON.fromJson(response.body(), JsonObject.class);
+                        return response.body().get();
                     }
                     throw new CfWidgetApiException(
                             "CFWidget request failed: " + status,
                             status
                     );
-                });
+                }, JsonBodyHandler.DECODE_EXECUTOR));
     }
 
     private static String encodePath(String pathOrId) {
@@ -9,7 +9,10 @@ import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeModResponse;
 import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeSearchResponse;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -101,9 +104,35 @@ public class CurseForgeAdapter {
                 .gameVersions(file.getGameVersions() != null ? file.getGameVersions() : List.of())
                 .releaseType(convertReleaseType(file.getReleaseType()))
                 .uploadedAt(file.getFileDate())
+                .hashes(adaptHashes(file.getHashes()))
                 .build();
     }
 
+    /**
+     * Converts CurseForge file hashes to hashes by algorithm name.
+     * CurseForge uses: 1=Sha1, 2=Md5
+     */
+    private Map<String, String> adaptHashes(List<CurseForgeModResponse.FileHash> cfHashes) {
+        Map<String, String> hashes = new HashMap<>();
+        if (cfHashes == null) {
+            return hashes;
+        }
+        for (CurseForgeModResponse.FileHash hash : cfHashes) {
+            if (hash == null || hash.getValue() == null || hash.getValue().isBlank()) {
+                continue;
+            }
+            String algorithm = switch (hash.getAlgo()) {
+                case 1 -> "sha1";
+                case 2 -> "md5";
+                default -> null; // Unknown algorithm, cannot verify
+            };
+            if (algorithm != null) {
+                hashes.put(algorithm, hash.getValue().trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return hashes;
+    }
+
     /**
      * Converts CurseForge numeric release type to string.
      * CurseForge uses: 1=Release, 2=Beta, 3=Alpha
@@ -6,8 +6,15 @@ import de.onyxmoon.modsync.api.ParsedModUrl;
 import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModList;
 import de.onyxmoon.modsync.provider.curseforge.client.CurseForgeClient;
+import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeModResponse;
+import de.onyxmoon.modsync.provider.http.RateLimiterRegistry;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -37,7 +44,7 @@ public class CurseForgeProvider implements ModProvider {
 
     @Override
     public CompletableFuture<ModList> fetchModList(String apiKey, String projectId) {
-        CurseForgeClient client = new CurseForgeClient(apiKey);
+        CurseForgeClient client = client(apiKey);
 
         // First, get the modpack details to get the project name
         return client.getMod(projectId)
@@ -56,7 +63,7 @@ public class CurseForgeProvider implements ModProvider {
 
     @Override
     public CompletableFuture<Boolean> validateApiKey(String apiKey) {
-        CurseForgeClient client = new CurseForgeClient(apiKey);
+        CurseForgeClient client = client(apiKey);
         return client.validateKey();
     }
 
@@ -92,21 +99,53 @@ public class CurseForgeProvider implements ModProvider {
 
     @Override
     public CompletableFuture<ModEntry> fetchMod(String apiKey, String modId) {
-        CurseForgeClient client = new CurseForgeClient(apiKey);
+        CurseForgeClient client = client(apiKey);
         return client.getMod(modId)
                 .thenApply(response -> adapter.adaptToModEntry(response.getData()));
     }
 
+    @Override
+    public CompletableFuture<Map<String, ModEntry>> fetchMods(String apiKey, Collection<String> modIds) {
+        // Results are keyed by the caller's own ID strings, which may be padded or zero-prefixed
+        Map<Long, List<String>> requestedIds = new LinkedHashMap<>();
+        List<String> otherIds = new ArrayList<>();
+        for (String modId : modIds) {
+            try {
+                requestedIds.computeIfAbsent(Long.parseLong(modId.trim()), id -> new ArrayList<>()).add(modId);
+            } catch (NumberFormatException e) {
+                otherIds.add(modId);
+            }
+        }
+        List<Long> numericIds = new ArrayList<>(requestedIds.keySet());
+
+        // The bulk endpoint only accepts numeric IDs; anything else goes through fetchMod
+        CompletableFuture<Map<String, ModEntry>> others = otherIds.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : ModProvider.super.fetchMods(apiKey, otherIds);
+
+        return client(apiKey).getMods(numericIds)
+                .thenCombine(others, (mods, otherEntries) -> {
+                    Map<String, ModEntry> entries = new HashMap<>(otherEntries);
+                    for (CurseForgeModResponse.ModData mod : mods) {
+                        ModEntry entry = adapter.adaptToModEntry(mod);
+                        for (String modId : requestedIds.getOrDefault((long) mod.getId(), List.of())) {
+                            entries.put(modId, entry);
+                        }
+                    }
+                    return entries;
+                });
+    }
+
     @Override
     public CompletableFuture<ModEntry> fetchModBySlug(String apiKey, String slug) {
-        CurseForgeClient client = new CurseForgeClient(apiKey);
+        CurseForgeClient client = client(apiKey);
         return client.getModBySlug(slug)
                 .thenApply(response -> adapter.adaptToModEntry(response.getData()));
     }
 
     @Override
     public CompletableFuture<List<ModEntry>> searchMods(String apiKey, String searchTerm) {
-        CurseForgeClient client = new CurseForgeClient(apiKey);
+        CurseForgeClient client = client(apiKey);
         return client.searchMods(searchTerm, 10, 0)
                 .thenApply(response -> {
                     if (response.getData() == null || response.getData().isEmpty()) {
@@ -117,4 +156,8 @@ public class CurseForgeProvider implements ModProvider {
                             .toList();
                 });
     }
+
+    private CurseForgeClient client(String apiKey) {
+        return new CurseForgeClient(apiKey, RateLimiterRegistry.shared().get(SOURCE, RATE_LIMIT));
+    }
 }
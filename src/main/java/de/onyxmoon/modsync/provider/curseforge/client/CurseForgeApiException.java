@@ -1,22 +1,17 @@
 package de.onyxmoon.modsync.provider.curseforge.client;
 
+import de.onyxmoon.modsync.api.ProviderApiException;
+
 /**
  * Custom exception for CurseForge API errors.
  */
-public class CurseForgeApiException extends RuntimeException {
-    private final int statusCode;
+public class CurseForgeApiException extends ProviderApiException {
 
     public CurseForgeApiException(String message, int statusCode) {
-        super(message);
-        this.statusCode = statusCode;
+        super(message, statusCode);
     }
 
     public CurseForgeApiException(String message, int statusCode, Throwable cause) {
-        super(message, cause);
-        this.statusCode = statusCode;
-    }
-
-    public int getStatusCode() {
-        return statusCode;
+        super(message, statusCode, cause);
     }
 }
\ No newline at end of file
@@ -3,7 +3,14 @@ package de.onyxmoon.modsync.provider.curseforge.client;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeModResponse;
+import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeModsResponse;
 import de.onyxmoon.modsync.provider.curseforge.model.CurseForgeSearchResponse;
+import de.onyxmoon.modsync.provider.http.HttpResponseCache;
+import de.onyxmoon.modsync.provider.http.JsonBodyHandler;
+import de.onyxmoon.modsync.provider.http.RateLimitedHttp;
+import de.onyxmoon.modsync.provider.http.RateLimiter;
+import de.onyxmoon.modsync.provider.http.RequestKey;
+import de.onyxmoon.modsync.provider.http.SingleFlight;
 import de.onyxmoon.modsync.storage.InstantTypeAdapter;
 
 import java.net.URI;
@@ -14,7 +21,12 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * HTTP client for CurseForge API.
@@ -22,6 +34,7 @@ import java.util.concurrent.CompletableFuture;
 public class CurseForgeClient {
     private static final String BASE_URL = "https://api.curseforge.com/v1";
     private static final String GAME_ID = "70216";
+    private static final int MAX_BULK_MOD_IDS = 50;
 
     /**
      * Shared HttpClient instance for all CurseForgeClient instances.
@@ -36,10 +49,19 @@ public class CurseForgeClient {
             .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
             .create();
 
+    /**
+     * Concurrent identical requests (same endpoint, parameters and API key) share one HTTP call
+     * and its decoded response. Every caller receives the same response object, so responses
+     * must be treated as read-only; copy before changing anything.
+     */
+    private static final SingleFlight<RequestKey, Object> IN_FLIGHT = new SingleFlight<>();
+
     private final String apiKey;
+    private final RateLimiter rateLimiter;
 
-    public CurseForgeClient(String apiKey) {
+    public CurseForgeClient(String apiKey, RateLimiter rateLimiter) {
         this.apiKey = apiKey;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -74,6 +96,32 @@ public class CurseForgeClient {
         return executeRequest(url, CurseForgeModResponse.class);
     }
 
+    /**
+     * Get details of several mods by ID using the bulk endpoint.
+     * <p>
+     * IDs are sent in chunks of {@value #MAX_BULK_MOD_IDS}. Mods that do not exist are
+     * simply missing from the result.
+     *
+     * @param modIds Numeric mod identifiers
+     * @return CompletableFuture containing the mod details of all chunks
+     */
+    public CompletableFuture<List<CurseForgeModResponse.ModData>> getMods(Collection<Long> modIds) {
+        List<Long> ids = List.copyOf(modIds);
+        List<CompletableFuture<CurseForgeModsResponse>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_BULK_MOD_IDS) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_BULK_MOD_IDS, ids.size()));
+            String body = SHARED_GSON.toJson(Map.of("modIds", chunk));
+            chunks.add(executePost(BASE_URL + "/mods", body, CurseForgeModsResponse.class));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> chunks.stream()
+                        .map(CompletableFuture::join)
+                        .filter(response -> response.getData() != null)
+                        .flatMap(response -> response.getData().stream())
+                        .toList());
+    }
+
     /**
      * Get mod details by slug (URL-friendly name).
      * <p>
@@ -145,23 +193,47 @@ public class CurseForgeClient {
                 .uri(URI.create(url))
                 .header("x-api-key", apiKey)
                 .header("Accept", "application/json")
+                .header("Accept-Encoding", JsonBodyHandler.ACCEPT_ENCODING)
                 .GET()
                 .build();
 
-        return SHARED_HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        return SHARED_GSON.fromJson(response.body(), responseType);
-                    } else if (response.statusCode() == 401 || response.statusCode() == 403) {
-                        throw new CurseForgeApiException("Invalid API key", response.statusCode());
-                    } else if (response.statusCode() == 429) {
-                        throw new CurseForgeApiException("Rate limit exceeded", response.statusCode());
-                    } else {
-                        throw new CurseForgeApiException(
-                                "API request failed: " + response.statusCode(),
-                                response.statusCode()
-                        );
-                    }
-                });
+        return send(request, new RequestKey("GET", url, null, apiKey), responseType);
+    }
+
+    private <T> CompletableFuture<T> executePost(String url, String jsonBody, Class<T> responseType) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("x-api-key", apiKey)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", JsonBodyHandler.ACCEPT_ENCODING)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+
+        return send(request, new RequestKey("POST", url, jsonBody, apiKey), responseType);
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, RequestKey key, Class<T> responseType) {
+        return IN_FLIGHT.execute(key, () -> HttpResponseCache.shared().sendAsync(request, apiKey,
+                                new JsonBodyHandler<>(SHARED_GSON, responseType),
+                                (conditional, bodyHandler) -> RateLimitedHttp.sendAsync(
+                                        SHARED_HTTP_CLIENT, rateLimiter, conditional, bodyHandler))
+                        .thenApplyAsync(CurseForgeClient::decode, JsonBodyHandler.DECODE_EXECUTOR))
+                .thenApply(responseType::cast);
+    }
+
+    private static <T> T decode(HttpResponse<Supplier<T>> response) {
+        if (response.statusCode() == 200) {
+            return response.body().get();
+        } else if (response.statusCode() == 401 || response.statusCode() == 403) {
+            throw new CurseForgeApiException("Invalid API key", response.statusCode());
+        } else if (response.statusCode() == 429) {
+            throw new CurseForgeApiException("Rate limit exceeded", response.statusCode());
+        } else {
+            throw new CurseForgeApiException(
+                    "API request failed: " + response.statusCode(),
+                    response.statusCode()
+            );
+        }
     }
-}
\ No newline at end of file
+}
@@ -159,6 +159,7 @@ public class CurseForgeModResponse {
         private List<String> gameVersions;
         private int releaseType;  // CurseForge uses: 1=Release, 2=Beta, 3=Alpha
         private Instant fileDate;
+        private List<FileHash> hashes;
 
         public int getId() {
             return id;
@@ -223,6 +224,35 @@ public class CurseForgeModResponse {
         public void setFileDate(Instant fileDate) {
             this.fileDate = fileDate;
         }
+
+        public List<FileHash> getHashes() {
+            return hashes;
+        }
+
+        public void setHashes(List<FileHash> hashes) {
+            this.hashes = hashes;
+        }
+    }
+
+    public static class FileHash {
+        private String value;
+        private int algo;  // CurseForge uses: 1=Sha1, 2=Md5
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public int getAlgo() {
+            return algo;
+        }
+
+        public void setAlgo(int algo) {
+            this.algo = algo;
+        }
     }
 
     public static class CategoryData {
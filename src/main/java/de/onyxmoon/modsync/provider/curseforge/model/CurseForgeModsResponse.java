@@ -0,0 +1,18 @@
+package de.onyxmoon.modsync.provider.curseforge.model;
+
+import java.util.List;
+
+/**
+ * CurseForge API response wrapper for the bulk mods endpoint (POST /v1/mods).
+ */
+public class CurseForgeModsResponse {
+    private List<CurseForgeModResponse.ModData> data;
+
+    public List<CurseForgeModResponse.ModData> getData() {
+        return data;
+    }
+
+    public void setData(List<CurseForgeModResponse.ModData> data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,233 @@
+package de.onyxmoon.modsync.provider.http;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs mod downloads with bounded concurrency, overall and per host.
+ * <p>
+ * Downloads are blocking tasks; each runs on its own virtual thread once admitted, so
+ * they never occupy the common pool. Waiting downloads are admitted in FIFO order; one
+ * whose host is at its limit is passed over until a slot for that host frees up, so a
+ * busy CDN does not hold back downloads from other hosts. A running download that
+ * opens more than one connection reserves the extra connections against its host's
+ * limit. Limits are read on every admission, so config changes apply without a restart.
+ */
+public final class DownloadScheduler {
+    public static final int DEFAULT_MAX_CONCURRENT = 6;
+    public static final int DEFAULT_MAX_PER_HOST = 3;
+    private static final DownloadScheduler SHARED = new DownloadScheduler();
+
+    /**
+     * Snapshot of the scheduler's state.
+     *
+     * @param inFlight  downloads currently running
+     * @param queued    downloads waiting for a slot
+     * @param completed downloads that finished successfully
+     * @param failed    downloads that failed or were cancelled
+     */
+    public record Stats(int inFlight, int queued, long completed, long failed) {
+    }
+
+    private final ExecutorService workers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ModSync-Download-", 1).factory());
+
+    // Guarded by this
+    private final ArrayDeque<Job<?>> queue = new ArrayDeque<>();
+    private final Map<String, Integer> runningPerHost = new HashMap<>();
+    private int running;
+    private long completed;
+    private long failed;
+
+    private volatile IntSupplier maxConcurrent = () -> DEFAULT_MAX_CONCURRENT;
+    private volatile IntSupplier maxPerHost = () -> DEFAULT_MAX_PER_HOST;
+
+    private DownloadScheduler() {
+    }
+
+    /**
+     * @return the scheduler shared by all downloads
+     */
+    public static DownloadScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Sets where the limits come from.
+     *
+     * @param maxConcurrent supplies the maximum number of downloads running at once
+     * @param maxPerHost    supplies the maximum number of downloads running at once per host
+     */
+    public void configure(IntSupplier maxConcurrent, IntSupplier maxPerHost) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerHost = maxPerHost;
+        dispatch();
+    }
+
+    /**
+     * Queues a download.
+     * <p>
+     * Cancelling the returned future removes a waiting download from the queue or
+     * interrupts a running one.
+     *
+     * @param uri      the URI the download starts from; its host is used for the per-host limit
+     * @param download the blocking download task
+     * @return the result of the task
+     */
+    public <T> CompletableFuture<T> submit(URI uri, Callable<T> download) {
+        Job<T> job = new Job<>(hostOf(uri), download);
+        synchronized (this) {
+            queue.add(job);
+        }
+        job.future.whenComplete((result, ex) -> {
+            if (job.future.isCancelled()) {
+                cancel(job);
+            }
+        });
+        dispatch();
+        return job.future;
+    }
+
+    /**
+     * Reserves additional connections to a host for a running download, e.g. for the
+     * segments of a segmented download. Reserved connections count against the per-host
+     * limit like downloads do, but never wait: fewer or none are granted if the host is
+     * at its limit or downloads for it are queued.
+     *
+     * @param uri    the URI the download was submitted with
+     * @param wanted the number of additional connections wanted
+     * @return the number of connections reserved, between 0 and wanted; return them with
+     * {@link #releaseConnections(URI, int)}
+     */
+    public synchronized int reserveConnections(URI uri, int wanted) {
+        String host = hostOf(uri);
+        if (queue.stream().anyMatch(job -> job.host.equals(host))) {
+            return 0;
+        }
+        int maxHost = Math.max(1, maxPerHost.getAsInt());
+        int granted = Math.max(0, Math.min(wanted, maxHost - runningPerHost.getOrDefault(host, 0)));
+        if (granted > 0) {
+            runningPerHost.merge(host, granted, Integer::sum);
+        }
+        return granted;
+    }
+
+    /**
+     * Returns connections reserved with {@link #reserveConnections(URI, int)}.
+     *
+     * @param uri   the URI the connections were reserved for
+     * @param count the number of connections to return
+     */
+    public void releaseConnections(URI uri, int count) {
+        if (count <= 0) {
+            return;
+        }
+        synchronized (this) {
+            runningPerHost.computeIfPresent(hostOf(uri), (host, running) -> running > count ? running - count : null);
+        }
+        dispatch();
+    }
+
+    /**
+     * @return the current number of running, waiting and finished downloads
+     */
+    public synchronized Stats getStats() {
+        return new Stats(running, queue.size(), completed, failed);
+    }
+
+    private void cancel(Job<?> job) {
+        synchronized (this) {
+            if (queue.remove(job)) {
+                failed++;
+                return;
+            }
+        }
+        job.interrupt();
+    }
+
+    private void dispatch() {
+        List<Job<?>> admitted = new ArrayList<>();
+        synchronized (this) {
+            int maxTotal = Math.max(1, maxConcurrent.getAsInt());
+            int maxHost = Math.max(1, maxPerHost.getAsInt());
+            Iterator<Job<?>> iterator = queue.iterator();
+            while (running < maxTotal && iterator.hasNext()) {
+                Job<?> job = iterator.next();
+                if (runningPerHost.getOrDefault(job.host, 0) >= maxHost) {
+                    continue;
+                }
+                iterator.remove();
+                running++;
+                runningPerHost.merge(job.host, 1, Integer::sum);
+                admitted.add(job);
+            }
+        }
+        admitted.forEach(job -> job.start(workers));
+    }
+
+    private void finish(Job<?> job) {
+        synchronized (this) {
+            running--;
+            runningPerHost.computeIfPresent(job.host, (host, count) -> count > 1 ? count - 1 : null);
+            if (job.future.isCompletedExceptionally()) {
+                failed++;
+            } else {
+                completed++;
+            }
+        }
+        dispatch();
+    }
+
+    private static String hostOf(URI uri) {
+        String host = uri != null ? uri.getHost() : null;
+        return host != null ? host.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private final class Job<T> {
+        private final String host;
+        private final Callable<T> download;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile Thread worker;
+
+        private Job(String host, Callable<T> download) {
+            this.host = host;
+            this.download = download;
+        }
+
+        void start(ExecutorService executor) {
+            executor.execute(this::run);
+        }
+
+        void interrupt() {
+            Thread thread = worker;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void run() {
+            worker = Thread.currentThread();
+            try {
+                // Skipped if cancelled between admission and start
+                if (!future.isDone()) {
+                    future.complete(download.call());
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                finish(this);
+            }
+        }
+    }
+}
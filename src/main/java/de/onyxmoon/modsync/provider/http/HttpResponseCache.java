@@ -0,0 +1,397 @@
+package de.onyxmoon.modsync.provider.http;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.storage.InstantTypeAdapter;
+import de.onyxmoon.modsync.util.AtomicFileWriter;
+import de.onyxmoon.modsync.util.FileHashUtils;
+
+import javax.net.ssl.SSLSession;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of API responses for conditional requests.
+ * <p>
+ * Successful GET responses that carry an ETag or Last-Modified header are copied to disk
+ * (http_cache/ in the plugin data folder) while they are decoded. The next identical request is sent with
+ * If-None-Match / If-Modified-Since; when the server answers 304 Not Modified, the
+ * stored body is returned as if it had been sent again. Entries survive restarts, so
+ * periodic checks of an unchanged mod set transfer almost nothing. Entries that have
+ * not been refreshed for {@link #MAX_AGE} are removed when the cache is opened.
+ * <p>
+ * The cache is disabled until {@link #open(Path)} is called; requests then pass
+ * through unchanged.
+ */
+public final class HttpResponseCache {
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final HttpResponseCache SHARED = new HttpResponseCache();
+    private static final Duration MAX_AGE = Duration.ofDays(30);
+    private static final String META_SUFFIX = ".json";
+    private static final String BODY_SUFFIX = ".body";
+
+    /**
+     * JSON structure of a cache entry's metadata file.
+     */
+    private static class Validators {
+        private String url;
+        private String etag;
+        private String lastModified;
+        private Instant storedAt;
+
+        Validators() {
+        }
+
+        Validators(String url, String etag, String lastModified, Instant storedAt) {
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+        }
+    }
+
+    /**
+     * Sends a request with the given body handler, e.g. through a rate limiter.
+     *
+     * @param <T> the response body type
+     */
+    @FunctionalInterface
+    public interface Transport<T> {
+        CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler);
+    }
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            .create();
+    private volatile Path directory;
+
+    private HttpResponseCache() {
+    }
+
+    /**
+     * @return the cache shared by all API clients
+     */
+    public static HttpResponseCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Enables the cache, storing entries in the given directory.
+     *
+     * @param directory the cache directory; created if missing
+     */
+    public void open(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            removeExpired(directory);
+            this.directory = directory;
+        } catch (IOException e) {
+            LOGGER.atWarning().withCause(e).log("Failed to open HTTP response cache, conditional requests disabled");
+        }
+    }
+
+    /**
+     * Sends a request through the cache.
+     * <p>
+     * Non-GET requests and requests made while the cache is disabled are passed to
+     * the transport unchanged.
+     *
+     * @param request     the request
+     * @param credential  the credential the request is sent with, or null; kept apart in the cache
+     * @param bodyHandler decodes the response body
+     * @param transport   sends a request, e.g. through the rate limiter
+     * @return the response; a 304 answer for a cached entry is returned as 200 with the cached body
+     */
+    public <T> CompletableFuture<HttpResponse<Supplier<T>>> sendAsync(
+            HttpRequest request,
+            String credential,
+            JsonBodyHandler<T> bodyHandler,
+            Transport<Supplier<T>> transport) {
+
+        Path dir = directory;
+        if (dir == null || !request.method().equals("GET")) {
+            return transport.send(request, bodyHandler);
+        }
+
+        String key = cacheKey(request.uri(), credential);
+        HttpResponse.BodyHandler<Supplier<T>> storing = storing(dir, key, request.uri(), bodyHandler);
+        Optional<Validators> cached = readValidators(dir, key);
+        if (cached.isEmpty()) {
+            return transport.send(request, storing);
+        }
+
+        HttpRequest.Builder conditional = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (cached.get().etag != null) {
+            conditional.header("If-None-Match", cached.get().etag);
+        }
+        if (cached.get().lastModified != null) {
+            conditional.header("If-Modified-Since", cached.get().lastModified);
+        }
+
+        return transport.send(conditional.build(), storing)
+                .thenCompose(response -> {
+                    if (response.statusCode() != 304) {
+                        if (response.statusCode() == 200 && !hasValidators(response.headers())) {
+                            // Nothing to revalidate with any more; drop the stale entry
+                            remove(dir, key);
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Path bodyFile = dir.resolve(key + BODY_SUFFIX);
+                    if (!Files.isRegularFile(bodyFile)) {
+                        // Entry vanished in the meantime - fetch the full response again
+                        remove(dir, key);
+                        return transport.send(request, storing);
+                    }
+                    touch(dir, key);
+                    LOGGER.atFine().log("Not modified, using cached response: %s", request.uri());
+                    return CompletableFuture.completedFuture(
+                            new CachedResponse<>(response, () -> readCachedBody(bodyFile, bodyHandler)));
+                });
+    }
+
+    /**
+     * Wraps the body handler so that 200 responses with validators are copied to the
+     * cache while they are decoded.
+     */
+    private <T> HttpResponse.BodyHandler<Supplier<T>> storing(Path dir, String key, URI uri,
+                                                              JsonBodyHandler<T> bodyHandler) {
+        return responseInfo -> {
+            if (responseInfo.statusCode() != 200 || !hasValidators(responseInfo.headers())) {
+                return bodyHandler.apply(responseInfo);
+            }
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                    body -> () -> decodeAndStore(dir, key, uri, responseInfo.headers(), body, bodyHandler));
+        };
+    }
+
+    private <T> T decodeAndStore(Path dir, String key, URI uri, HttpHeaders headers, InputStream body,
+                                 JsonBodyHandler<T> bodyHandler) {
+        List<T> decoded = new ArrayList<>(1);
+        try {
+            // Body first, so the metadata never points to a missing body. Not forced to disk:
+            // this runs while the response is decoded, and a lost entry is simply fetched again
+            AtomicFileWriter.writeStreamNoSync(dir.resolve(key + BODY_SUFFIX), out -> {
+                CopyingInputStream copying = new CopyingInputStream(JsonBodyHandler.decompress(body, headers), out);
+                decoded.add(bodyHandler.read(copying));
+                copying.checkCopied();
+            });
+            Validators validators = new Validators(uri.toString(), headers.firstValue("ETag").orElse(null),
+                    headers.firstValue("Last-Modified").orElse(null), Instant.now());
+            AtomicFileWriter.writeStringNoSync(dir.resolve(key + META_SUFFIX), gson.toJson(validators));
+        } catch (IOException | RuntimeException e) {
+            if (decoded.isEmpty()) {
+                // The response itself could not be read
+                throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+            }
+            // Caching is best effort and must never fail the request itself
+            LOGGER.atFine().withCause(e).log("Failed to cache response: %s", uri);
+        }
+        return decoded.get(0);
+    }
+
+    private <T> T readCachedBody(Path bodyFile, JsonBodyHandler<T> bodyHandler) {
+        try {
+            return bodyHandler.read(Files.newInputStream(bodyFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean hasValidators(HttpHeaders headers) {
+        return headers.firstValue("ETag").isPresent() || headers.firstValue("Last-Modified").isPresent();
+    }
+
+    private Optional<Validators> readValidators(Path dir, String key) {
+        Path metaFile = dir.resolve(key + META_SUFFIX);
+        if (!Files.exists(metaFile)) {
+            return Optional.empty();
+        }
+        try {
+            Validators validators = gson.fromJson(Files.readString(metaFile), Validators.class);
+            if (validators == null || (validators.etag == null && validators.lastModified == null)) {
+                return Optional.empty();
+            }
+            return Optional.of(validators);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.atFine().withCause(e).log("Ignoring unreadable cache entry %s", metaFile);
+            return Optional.empty();
+        }
+    }
+
+    private void touch(Path dir, String key) {
+        try {
+            Files.setLastModifiedTime(dir.resolve(key + META_SUFFIX), FileTime.from(Instant.now()));
+        } catch (IOException ignored) {
+            // Only affects expiry
+        }
+    }
+
+    private void remove(Path dir, String key) {
+        try {
+            Files.deleteIfExists(dir.resolve(key + META_SUFFIX));
+            Files.deleteIfExists(dir.resolve(key + BODY_SUFFIX));
+        } catch (IOException e) {
+            LOGGER.atFine().withCause(e).log("Failed to remove cache entry %s", key);
+        }
+    }
+
+    private void removeExpired(Path dir) throws IOException {
+        Instant cutoff = Instant.now().minus(MAX_AGE);
+        try (Stream<Path> files = Files.list(dir)) {
+            // Temp files of writes interrupted by a crash
+            files.filter(file -> file.getFileName().toString().endsWith(".tmp"))
+                    .forEach(tempFile -> {
+                        try {
+                            if (Files.getLastModifiedTime(tempFile).toInstant().isBefore(cutoff)) {
+                                Files.deleteIfExists(tempFile);
+                            }
+                        } catch (IOException ignored) {
+                            // Checked again on next start
+                        }
+                    });
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(META_SUFFIX))
+                    .forEach(metaFile -> {
+                        try {
+                            if (Files.getLastModifiedTime(metaFile).toInstant().isBefore(cutoff)) {
+                                String name = metaFile.getFileName().toString();
+                                remove(dir, name.substring(0, name.length() - META_SUFFIX.length()));
+                            }
+                        } catch (IOException ignored) {
+                            // Checked again on next start
+                        }
+                    });
+        }
+    }
+
+    private static String cacheKey(URI uri, String credential) {
+        String material = uri + "\n" + (credential != null ? credential : "");
+        byte[] hash = FileHashUtils.newSha256Digest().digest(material.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Copies everything read through it to a second stream. Copy failures are recorded
+     * instead of thrown, so they cannot break reading the response.
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+        private final OutputStream copy;
+        private IOException copyFailure;
+
+        private CopyingInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && copyFailure == null) {
+                try {
+                    copy.write(b);
+                } catch (IOException e) {
+                    copyFailure = e;
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0 && copyFailure == null) {
+                try {
+                    copy.write(b, off, read);
+                } catch (IOException e) {
+                    copyFailure = e;
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must end up in the copy as well
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        void checkCopied() throws IOException {
+            if (copyFailure != null) {
+                throw copyFailure;
+            }
+        }
+    }
+
+    /**
+     * A 304 response presented as 200 with the cached body.
+     */
+    private record CachedResponse<T>(HttpResponse<T> notModified, T body) implements HttpResponse<T> {
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return notModified.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return notModified.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return notModified.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return notModified.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return notModified.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return notModified.version();
+        }
+    }
+}
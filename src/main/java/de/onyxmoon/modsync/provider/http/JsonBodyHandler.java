@@ -0,0 +1,154 @@
+package de.onyxmoon.modsync.provider.http;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Body handler that decodes JSON responses with Gson straight from the response stream.
+ * <p>
+ * The body is never buffered as a whole, neither as bytes nor as a String. gzip and
+ * deflate encoded bodies are decompressed on the fly; send {@link #ACCEPT_ENCODING}
+ * with the request to ask for them. Bodies of responses other than 200 are discarded.
+ * <p>
+ * Following the pattern recommended for {@link HttpResponse.BodySubscribers#ofInputStream()},
+ * the body is a {@link Supplier} that decodes when called. It blocks while the body
+ * arrives, so call it exactly once, on {@link #DECODE_EXECUTOR} (e.g. in a
+ * {@code thenApplyAsync} stage): a plain {@code thenApply} would run it on the HTTP
+ * client's own threads.
+ *
+ * @param <T> the decoded type
+ */
+public final class JsonBodyHandler<T> implements HttpResponse.BodyHandler<Supplier<T>> {
+    /**
+     * Accept-Encoding header value for the encodings this handler can decode.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Runs body suppliers off the HTTP client's threads. Decoding blocks on the network,
+     * so every decode gets its own virtual thread.
+     */
+    public static final Executor DECODE_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ModSync-Decode-", 1).factory());
+
+    private final Gson gson;
+    private final Class<T> type;
+
+    /**
+     * @param gson the Gson instance to decode with
+     * @param type the type to decode the body into
+     */
+    public JsonBodyHandler(Gson gson, Class<T> type) {
+        this.gson = gson;
+        this.type = type;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<Supplier<T>> apply(HttpResponse.ResponseInfo responseInfo) {
+        if (responseInfo.statusCode() != 200) {
+            return HttpResponse.BodySubscribers.replacing(() -> null);
+        }
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                body -> () -> decode(body, responseInfo.headers()));
+    }
+
+    /**
+     * Decodes an uncompressed JSON body and closes the stream.
+     * <p>
+     * The stream is read to its end, so wrapping streams see the complete body.
+     *
+     * @param body the body stream
+     * @return the decoded value; null for an empty body
+     * @throws UncheckedIOException if reading fails
+     * @throws com.google.gson.JsonParseException if the body is not valid JSON for the type
+     */
+    public T read(InputStream body) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            T value = gson.fromJson(reader, type);
+            body.transferTo(OutputStream.nullOutputStream());
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps a response body stream according to its Content-Encoding header.
+     *
+     * @param body    the raw body stream
+     * @param headers the response headers
+     * @return a stream of the decompressed body
+     * @throws IOException if the encoding is not supported or the compressed header is invalid
+     */
+    public static InputStream decompress(InputStream body, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding")
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .orElse("");
+        return switch (encoding) {
+            case "", "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate" -> inflate(body);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    private T decode(InputStream body, HttpHeaders headers) {
+        InputStream decompressed;
+        try {
+            decompressed = decompress(body, headers);
+        } catch (IOException e) {
+            closeQuietly(body);
+            throw new UncheckedIOException(e);
+        }
+        return read(decompressed);
+    }
+
+    private static InputStream inflate(InputStream body) throws IOException {
+        // "deflate" means zlib-wrapped data, but some servers send raw deflate - tell them apart by the zlib header
+        BufferedInputStream buffered = new BufferedInputStream(body, BUFFER_SIZE);
+        buffered.mark(2);
+        int cmf = buffered.read();
+        int flg = buffered.read();
+        buffered.reset();
+        boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(buffered, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // A custom Inflater is not released by InflaterInputStream itself
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing left to read from it anyway
+        }
+    }
+}
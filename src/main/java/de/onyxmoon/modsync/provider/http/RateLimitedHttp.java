@@ -0,0 +1,95 @@
+package de.onyxmoon.modsync.provider.http;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends provider API requests through a {@link RateLimiter}.
+ * <p>
+ * Every attempt takes a permit before it is sent. When the server still answers with
+ * HTTP 429, the limiter is paused for the time given in the Retry-After header and the
+ * request is queued again, up to {@link #MAX_RATE_LIMIT_RETRIES} times. Responses that
+ * would require waiting longer than {@link #MAX_RETRY_AFTER} are returned to the caller
+ * unchanged, so it can report the rate limit instead of hanging.
+ */
+public final class RateLimitedHttp {
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+    private static final int MAX_RATE_LIMIT_RETRIES = 3;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(5);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private RateLimitedHttp() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Sends a request asynchronously once the limiter grants a permit.
+     *
+     * @param client      the HTTP client
+     * @param limiter     the limiter of the API the request goes to
+     * @param request     the request
+     * @param bodyHandler the response body handler
+     * @return the response; may still be a 429 if retries were exhausted
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpClient client, RateLimiter limiter,
+                                                                   HttpRequest request,
+                                                                   HttpResponse.BodyHandler<T> bodyHandler) {
+        return send(client, limiter, request, bodyHandler, 0);
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> send(HttpClient client, RateLimiter limiter,
+                                                               HttpRequest request,
+                                                               HttpResponse.BodyHandler<T> bodyHandler,
+                                                               int attempt) {
+        return limiter.acquire()
+                .thenCompose(ignored -> client.sendAsync(request, bodyHandler))
+                .thenCompose(response -> {
+                    if (response.statusCode() != STATUS_TOO_MANY_REQUESTS) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Duration retryAfter = parseRetryAfter(response.headers()).orElse(DEFAULT_RETRY_AFTER);
+                    limiter.pause(retryAfter);
+                    if (attempt >= MAX_RATE_LIMIT_RETRIES || retryAfter.compareTo(MAX_RETRY_AFTER) > 0) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    LOGGER.atFine().log("%s rate limit hit, retrying in %d ms: %s",
+                            limiter.getName(), retryAfter.toMillis(), request.uri());
+                    return send(client, limiter, request, bodyHandler, attempt + 1);
+                });
+    }
+
+    /**
+     * Parses a Retry-After header, given either as delay in seconds or as HTTP date.
+     */
+    static Optional<Duration> parseRetryAfter(HttpHeaders headers) {
+        Optional<String> value = headers.firstValue("Retry-After").map(String::trim);
+        if (value.isEmpty() || value.get().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.get()))));
+        } catch (NumberFormatException ignored) {
+            // Not a number - try the HTTP date form
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value.get(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), at);
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
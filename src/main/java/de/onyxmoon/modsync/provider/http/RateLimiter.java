@@ -0,0 +1,190 @@
+package de.onyxmoon.modsync.provider.http;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous token-bucket rate limiter.
+ * <p>
+ * Permits refill continuously at {@code requestsPerMinute}; up to ten seconds' worth
+ * can be used as a burst. Callers that find the bucket empty are queued in FIFO order
+ * and their futures are completed from a shared scheduler thread once a permit is
+ * available, so no caller thread is ever blocked while waiting.
+ * <p>
+ * A server-side rate limit response can {@link #pause(Duration) pause} the limiter,
+ * which holds back all queued and new requests until the given time has passed.
+ */
+public final class RateLimiter {
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final int BURST_SECONDS = 10;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ModSync-RateLimiter").daemon().factory());
+
+    private record Waiter(CompletableFuture<Void> future, long enqueuedAt) {
+    }
+
+    /**
+     * Snapshot of a limiter's state and counters.
+     *
+     * @param name              the limiter name (usually the provider source)
+     * @param requestsPerMinute the configured rate
+     * @param queueDepth        requests currently waiting for a permit
+     * @param granted           permits handed out so far
+     * @param delayed           permits that had to wait in the queue
+     * @param throttled         rate limit responses reported through {@link #pause(Duration)}
+     * @param averageWaitMillis average wait over all granted permits
+     * @param maxWaitMillis     longest wait of a single permit
+     */
+    public record Stats(String name, int requestsPerMinute, int queueDepth, long granted, long delayed,
+                        long throttled, double averageWaitMillis, double maxWaitMillis) {
+    }
+
+    private final String name;
+    private final int requestsPerMinute;
+    private final double capacity;
+    private final double permitsPerNano;
+
+    // Guarded by this
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+    private boolean drainScheduled;
+    private long granted;
+    private long delayed;
+    private long throttled;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    /**
+     * @param name              name shown in stats and logs
+     * @param requestsPerMinute sustained rate; must be positive
+     */
+    public RateLimiter(String name, int requestsPerMinute) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("requestsPerMinute must be positive: " + requestsPerMinute);
+        }
+        this.name = name;
+        this.requestsPerMinute = requestsPerMinute;
+        this.permitsPerNano = (double) requestsPerMinute / NANOS_PER_MINUTE;
+        this.capacity = Math.max(1, requestsPerMinute * BURST_SECONDS / 60);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Acquires a single permit.
+     * <p>
+     * Cancelling the returned future gives up the place in the queue without using a permit.
+     *
+     * @return a future completed once the caller may send its request
+     */
+    public synchronized CompletableFuture<Void> acquire() {
+        long now = System.nanoTime();
+        refill(now);
+        if (queue.isEmpty() && now - pausedUntil >= 0 && tokens >= 1) {
+            tokens -= 1;
+            granted++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        queue.add(new Waiter(future, now));
+        scheduleDrain(now);
+        return future;
+    }
+
+    /**
+     * Holds back all requests for the given duration, e.g. after the server answered
+     * with HTTP 429 and a Retry-After header. The bucket is emptied as well, so requests
+     * resume at the sustained rate instead of as a burst.
+     *
+     * @param duration how long to pause
+     */
+    public synchronized void pause(Duration duration) {
+        long now = System.nanoTime();
+        long until = now + Math.max(0, duration.toNanos());
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+        tokens = 0;
+        lastRefill = now;
+        throttled++;
+        if (!queue.isEmpty()) {
+            scheduleDrain(now);
+        }
+    }
+
+    /**
+     * @return a snapshot of the current queue depth and wait statistics
+     */
+    public synchronized Stats getStats() {
+        double averageWaitMillis = granted == 0 ? 0 : totalWaitNanos / 1_000_000.0 / granted;
+        return new Stats(name, requestsPerMinute, queue.size(), granted, delayed, throttled,
+                averageWaitMillis, maxWaitNanos / 1_000_000.0);
+    }
+
+    private void drain() {
+        List<CompletableFuture<Void>> ready = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            long now = System.nanoTime();
+            refill(now);
+            while (!queue.isEmpty() && now - pausedUntil >= 0) {
+                Waiter waiter = queue.peek();
+                if (waiter.future().isDone()) {
+                    // Cancelled while waiting
+                    queue.poll();
+                    continue;
+                }
+                if (tokens < 1) {
+                    break;
+                }
+                queue.poll();
+                tokens -= 1;
+                long waited = now - waiter.enqueuedAt();
+                granted++;
+                delayed++;
+                totalWaitNanos += waited;
+                maxWaitNanos = Math.max(maxWaitNanos, waited);
+                ready.add(waiter.future());
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain(now);
+            }
+        }
+        // Complete outside the lock; dependent stages may acquire again
+        ready.forEach(future -> future.complete(null));
+    }
+
+    private void scheduleDrain(long now) {
+        if (drainScheduled) {
+            return;
+        }
+        long untilToken = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        long delay = Math.max(untilToken, pausedUntil - now);
+        drainScheduled = true;
+        SCHEDULER.schedule(this::drain, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private void refill(long now) {
+        // Nothing accumulates while paused
+        long start = pausedUntil - lastRefill > 0 ? pausedUntil : lastRefill;
+        long elapsed = now - start;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * permitsPerNano);
+            lastRefill = now;
+        }
+    }
+}
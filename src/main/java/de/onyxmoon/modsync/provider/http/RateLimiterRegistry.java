@@ -0,0 +1,51 @@
+package de.onyxmoon.modsync.provider.http;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of rate limiters, one per provider source.
+ * <p>
+ * Provider clients are short-lived (often one per call), so the limiters that track
+ * their request budget live here instead. Limiters are keyed by source only: a server
+ * uses one API key per provider, and a rotated key keeps the same budget instead of
+ * leaving a limiter (and the old key) behind.
+ */
+public final class RateLimiterRegistry {
+    private static final RateLimiterRegistry SHARED = new RateLimiterRegistry();
+
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private RateLimiterRegistry() {
+    }
+
+    /**
+     * @return the shared registry used by all built-in providers
+     */
+    public static RateLimiterRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets or creates the limiter for the given source.
+     *
+     * @param source            provider source identifier
+     * @param requestsPerMinute the provider's rate limit, used when the limiter is created
+     * @return the limiter
+     */
+    public RateLimiter get(String source, int requestsPerMinute) {
+        return limiters.computeIfAbsent(source, key -> new RateLimiter(source, requestsPerMinute));
+    }
+
+    /**
+     * @return stats of all limiters that have been used, ordered by name
+     */
+    public List<RateLimiter.Stats> getStats() {
+        return limiters.values().stream()
+                .map(RateLimiter::getStats)
+                .sorted(Comparator.comparing(RateLimiter.Stats::name))
+                .toList();
+    }
+}
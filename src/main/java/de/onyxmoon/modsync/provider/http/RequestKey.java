@@ -0,0 +1,18 @@
+package de.onyxmoon.modsync.provider.http;
+
+/**
+ * Identifies identical provider API requests for {@link SingleFlight}.
+ *
+ * @param method     HTTP method
+ * @param url        full request URL including query parameters
+ * @param body       request body, or null for requests without one
+ * @param credential API key the request is sent with, or null; responses may differ per key
+ */
+public record RequestKey(String method, String url, String body, String credential) {
+
+    @Override
+    public String toString() {
+        // Never expose the credential in logs
+        return "RequestKey{" + method + ' ' + url + '}';
+    }
+}
@@ -0,0 +1,243 @@
+package de.onyxmoon.modsync.provider.http;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.util.ChecksumMismatchException;
+import de.onyxmoon.modsync.util.DigestingWritableByteChannel;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads a file with retries that continue where the previous attempt stopped.
+ * <p>
+ * The body is written to a ".part" file. Validators (a strong ETag or Last-Modified)
+ * and the expected length are recorded from the response that started the file. When
+ * an attempt fails part-way, the next one only asks for the missing bytes, using Range
+ * and If-Range. The server answers 206 if the file is unchanged. It answers 200 with
+ * the full body if the file changed or ranges are not supported; the download then
+ * starts over. The SHA-256 hash and size cover the whole file, including bytes kept
+ * from earlier attempts.
+ * <p>
+ * If the provider published a length or hash, the body is verified while it streams:
+ * a response announcing or sending more bytes is aborted right away, and a complete
+ * file with the wrong hash fails the attempt. Such an attempt is not resumed.
+ */
+public final class ResumableDownload {
+    public static final String PART_SUFFIX = ".part";
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /**
+     * Result of a completed download.
+     *
+     * @param file    the part file holding the complete body
+     * @param size    the file size in bytes
+     * @param sha256  the hash of the file in format "sha256:hexstring"
+     * @param headers the headers of the response that started the file
+     */
+    public record Result(Path file, long size, String sha256, HttpHeaders headers) {
+    }
+
+    /**
+     * What is known about the file being downloaded, from the response that started it.
+     *
+     * @param ifRange        the validator to send as If-Range, or null if the download cannot be resumed
+     * @param expectedLength the full length in bytes, or -1 if unknown
+     * @param headers        the response headers
+     */
+    private record Origin(String ifRange, long expectedLength, HttpHeaders headers) {
+        static Origin of(HttpHeaders headers) {
+            // If-Range requires a strong validator
+            String etag = headers.firstValue("ETag").filter(tag -> !tag.startsWith("W/")).orElse(null);
+            String ifRange = etag != null ? etag : headers.firstValue("Last-Modified").orElse(null);
+            boolean rangesRefused = headers.firstValue("Accept-Ranges")
+                    .map(value -> value.trim().equalsIgnoreCase("none"))
+                    .orElse(false);
+            return new Origin(rangesRefused ? null : ifRange,
+                    headers.firstValueAsLong("Content-Length").orElse(-1), headers);
+        }
+
+        boolean isResumable() {
+            return ifRange != null;
+        }
+    }
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final Path partFile;
+    private final ExpectedChecksum expected;
+    private Origin origin;
+
+    private ResumableDownload(HttpClient client, HttpRequest request, Path partFile, ExpectedChecksum expected) {
+        this.client = client;
+        this.request = request;
+        this.partFile = partFile;
+        this.expected = expected;
+    }
+
+    /**
+     * Downloads the request's body to the part file, resuming on retries.
+     * <p>
+     * The part file is left in place if all attempts fail; the caller cleans it up.
+     *
+     * @param client      the HTTP client
+     * @param request     the GET request; Range headers are added as needed
+     * @param partFile    the file to download to, conventionally ending in {@link #PART_SUFFIX}
+     * @param maxAttempts the number of attempts
+     * @return the downloaded file with its size and hash
+     * @throws IOException          if the last attempt failed
+     * @throws InterruptedException if interrupted, e.g. because the download was cancelled
+     */
+    public static Result download(HttpClient client, HttpRequest request, Path partFile, int maxAttempts)
+            throws IOException, InterruptedException {
+        return download(client, request, partFile, maxAttempts, ExpectedChecksum.NONE);
+    }
+
+    /**
+     * Downloads the request's body to the part file, resuming on retries and verifying
+     * it against the provider's checksum.
+     *
+     * @param client      the HTTP client
+     * @param request     the GET request; Range headers are added as needed
+     * @param partFile    the file to download to, conventionally ending in {@link #PART_SUFFIX}
+     * @param maxAttempts the number of attempts
+     * @param expected    the length and hash the provider published for the file
+     * @return the downloaded file with its size and hash
+     * @throws IOException          if the last attempt failed
+     * @throws InterruptedException if interrupted, e.g. because the download was cancelled
+     */
+    public static Result download(HttpClient client, HttpRequest request, Path partFile, int maxAttempts,
+                                  ExpectedChecksum expected) throws IOException, InterruptedException {
+        return new ResumableDownload(client, request, partFile, expected).run(maxAttempts);
+    }
+
+    private Result run(int maxAttempts) throws IOException, InterruptedException {
+        IOException lastException = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return fetch();
+            } catch (ChecksumMismatchException e) {
+                // The kept bytes are wrong or from an unexpected file - start over next time
+                origin = null;
+                lastException = e;
+                LOGGER.atWarning().log("Download attempt %d failed verification (will restart): %s",
+                        attempt, e.getMessage());
+                if (attempt < maxAttempts) {
+                    Thread.sleep(1000L * attempt); // Exponential backoff
+                }
+            } catch (IOException e) {
+                lastException = e;
+                boolean resumable = origin != null && origin.isResumable() && Files.exists(partFile);
+                LOGGER.atWarning().log("Download attempt %d failed (%s): %s",
+                        attempt, resumable ? "will resume" : "will restart", e.getMessage());
+                if (attempt < maxAttempts) {
+                    Thread.sleep(1000L * attempt); // Exponential backoff
+                }
+            }
+        }
+        throw lastException;
+    }
+
+    private Result fetch() throws IOException, InterruptedException {
+        long existing = Files.isRegularFile(partFile) ? Files.size(partFile) : 0;
+        boolean resume = origin != null && origin.isResumable() && existing > 0
+                && (origin.expectedLength() < 0 || existing < origin.expectedLength());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (resume) {
+            builder.header("Range", "bytes=" + existing + "-");
+            builder.header("If-Range", origin.ifRange());
+        }
+        HttpResponse<InputStream> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+        int status = response.statusCode();
+        boolean append;
+        if (resume && status == 206) {
+            if (!matchesContentRange(response.headers(), existing)) {
+                response.body().close();
+                // Cannot trust the kept bytes to line up - start over next time
+                origin = null;
+                throw new IOException("Unexpected Content-Range: "
+                        + response.headers().firstValue("Content-Range").orElse("none"));
+            }
+            append = true;
+            LOGGER.atInfo().log("Resuming download at byte %d: %s", existing, request.uri());
+        } else if (status == 200) {
+            if (resume) {
+                LOGGER.atInfo().log("Server sent the full file, restarting download: %s", request.uri());
+            }
+            origin = Origin.of(response.headers());
+            append = false;
+            if (expected.hasLength() && origin.expectedLength() >= 0 && origin.expectedLength() != expected.length()) {
+                response.body().close();
+                throw new ChecksumMismatchException("Server announced " + origin.expectedLength()
+                        + " bytes, expected " + expected.length());
+            }
+        } else if (resume && status == 416) {
+            response.body().close();
+            origin = null;
+            throw new IOException("Requested range not satisfiable, restarting download");
+        } else {
+            response.body().close();
+            throw new IOException("Download failed with status: " + status);
+        }
+
+        long size;
+        String sha256;
+        try (InputStream inputStream = response.body();
+             DigestingWritableByteChannel out = new DigestingWritableByteChannel(
+                     FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                             append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING),
+                     expected)) {
+            if (append) {
+                try (FileChannel kept = FileChannel.open(partFile, StandardOpenOption.READ)) {
+                    out.digestExisting(kept);
+                }
+            }
+            out.transferFrom(inputStream);
+            if (expected.hasLength() && out.getBytesWritten() < expected.length()) {
+                // Cut short, which can be resumed - unlike a wrong hash
+                throw new IOException("Incomplete download: " + out.getBytesWritten() + " of "
+                        + expected.length() + " bytes");
+            }
+            out.verify();
+            size = out.getBytesWritten();
+            sha256 = out.getSha256();
+        }
+
+        if (origin.expectedLength() >= 0 && size != origin.expectedLength()) {
+            throw new IOException("Incomplete download: " + size + " of " + origin.expectedLength() + " bytes");
+        }
+        if (size == 0) {
+            throw new IOException("Downloaded file is empty or missing");
+        }
+        return new Result(partFile, size, sha256, origin.headers());
+    }
+
+    private boolean matchesContentRange(HttpHeaders headers, long start) {
+        Optional<String> contentRange = headers.firstValue("Content-Range");
+        if (contentRange.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange.get().trim());
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) != start) {
+            return false;
+        }
+        String total = matcher.group(3);
+        return total.equals("*") || origin.expectedLength() < 0
+                || Long.parseLong(total) == origin.expectedLength();
+    }
+}
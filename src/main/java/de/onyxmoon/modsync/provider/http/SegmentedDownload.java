@@ -0,0 +1,267 @@
+package de.onyxmoon.modsync.provider.http;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.util.ChecksumMismatchException;
+import de.onyxmoon.modsync.util.DigestingWritableByteChannel;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads a large file over several connections at once.
+ * <p>
+ * A HEAD request determines the size and whether the server accepts byte ranges. The
+ * target file is preallocated and split into segments that are fetched in parallel,
+ * each written at its own offset with positional writes. Every segment request carries
+ * If-Range with the validator from the HEAD response, so a file that changes
+ * mid-download fails the download instead of mixing versions. A failed segment is
+ * retried from where it stopped. Once all segments are done, the size is verified and
+ * the file is hashed, checking it against the provider's checksum if one is known. A
+ * size that differs from the provider's fails before anything is downloaded.
+ * <p>
+ * If the server cannot serve ranges, or the file is below the size threshold, nothing
+ * is downloaded and the caller should fall back to a single-connection download. The
+ * HEAD request is then an extra round trip, so callers should only try this for files
+ * whose size is known to be above the threshold.
+ */
+public final class SegmentedDownload {
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /**
+     * A byte range of the file and how much of it has been written.
+     */
+    private static final class Segment {
+        private final long start;
+        private final long end;
+        private long written;
+
+        private Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long remaining() {
+            return end - start + 1 - written;
+        }
+    }
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final URI uri;
+    private final String ifRange;
+    private final long size;
+    private final HttpHeaders headers;
+    private final ExpectedChecksum expected;
+
+    private SegmentedDownload(HttpClient client, HttpRequest request, URI uri, String ifRange, long size,
+                              HttpHeaders headers, ExpectedChecksum expected) {
+        this.client = client;
+        this.request = request;
+        this.uri = uri;
+        this.ifRange = ifRange;
+        this.size = size;
+        this.headers = headers;
+        this.expected = expected;
+    }
+
+    /**
+     * Downloads the request's body in segments, if the server supports it and the file is large enough.
+     *
+     * @param client      the HTTP client
+     * @param request     the GET request; Range headers are added per segment
+     * @param file        the file to download to
+     * @param segments    the number of parallel segments
+     * @param minSize     the minimum file size in bytes for a segmented download
+     * @param maxAttempts the number of attempts per segment
+     * @param expected    the length and hash the provider published for the file
+     * @return the downloaded file, or empty if the file should be downloaded in one piece instead
+     * @throws IOException          if the segmented download was started but failed
+     * @throws InterruptedException if interrupted, e.g. because the download was cancelled
+     */
+    public static Optional<ResumableDownload.Result> download(HttpClient client, HttpRequest request, Path file,
+                                                             int segments, long minSize, int maxAttempts,
+                                                             ExpectedChecksum expected)
+            throws IOException, InterruptedException {
+
+        HttpRequest head = HttpRequest.newBuilder(request, (name, value) -> true)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<Void> probe = client.send(head, HttpResponse.BodyHandlers.discarding());
+
+        HttpHeaders probeHeaders = probe.headers();
+        long size = probeHeaders.firstValueAsLong("Content-Length").orElse(-1);
+        boolean acceptsRanges = probeHeaders.firstValue("Accept-Ranges")
+                .map(value -> value.trim().equalsIgnoreCase("bytes"))
+                .orElse(false);
+        // If-Range requires a strong validator
+        String ifRange = probeHeaders.firstValue("ETag").filter(tag -> !tag.startsWith("W/"))
+                .or(() -> probeHeaders.firstValue("Last-Modified"))
+                .orElse(null);
+
+        if (probe.statusCode() != 200 || !acceptsRanges || ifRange == null || size < Math.max(minSize, segments)) {
+            return Optional.empty();
+        }
+
+        if (expected.hasLength() && size != expected.length()) {
+            throw new ChecksumMismatchException("Server announced " + size + " bytes, expected " + expected.length());
+        }
+
+        // Ask the final location directly instead of following the redirect once per segment
+        SegmentedDownload download = new SegmentedDownload(client, request, probe.uri(), ifRange, size, probeHeaders,
+                expected);
+        return Optional.of(download.run(file, segments, maxAttempts));
+    }
+
+    private ResumableDownload.Result run(Path file, int segmentCount, int maxAttempts)
+            throws IOException, InterruptedException {
+        LOGGER.atInfo().log("Downloading %d bytes in %d segments: %s", size, segmentCount, uri);
+
+        List<Segment> segments = new ArrayList<>();
+        long segmentSize = size / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            long start = i * segmentSize;
+            long end = i == segmentCount - 1 ? size - 1 : start + segmentSize - 1;
+            segments.add(new Segment(start, end));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Preallocate, so segments can be written at any offset
+            channel.write(ByteBuffer.allocate(1), size - 1);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Void>> results = new ArrayList<>();
+                for (Segment segment : segments) {
+                    results.add(executor.submit(() -> {
+                        fetchWithRetries(channel, segment, maxAttempts);
+                        return null;
+                    }));
+                }
+                awaitAll(results);
+            }
+            channel.force(true);
+        }
+
+        long actualSize = Files.size(file);
+        if (actualSize != size) {
+            throw new IOException("Incomplete download: " + actualSize + " of " + size + " bytes");
+        }
+
+        // Segments arrive out of order, so the file is hashed and verified once it is complete
+        try (InputStream in = Files.newInputStream(file);
+             DigestingWritableByteChannel check = new DigestingWritableByteChannel(
+                     Channels.newChannel(OutputStream.nullOutputStream()), expected)) {
+            check.transferFrom(in);
+            check.verify();
+            return new ResumableDownload.Result(file, size, check.getSha256(), headers);
+        }
+    }
+
+    private static void awaitAll(List<Future<Void>> results) throws IOException, InterruptedException {
+        try {
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            // Stop the other segments, the download cannot complete anyway
+            results.forEach(result -> result.cancel(true));
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof InterruptedException interrupted) {
+                throw interrupted;
+            }
+            throw new IOException("Segment download failed", e.getCause());
+        } catch (InterruptedException e) {
+            results.forEach(result -> result.cancel(true));
+            throw e;
+        }
+    }
+
+    private void fetchWithRetries(FileChannel channel, Segment segment, int maxAttempts)
+            throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                fetch(channel, segment);
+                return;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                LOGGER.atWarning().log("Segment %d-%d attempt %d failed, resuming at byte %d: %s",
+                        segment.start, segment.end, attempt, segment.start + segment.written, e.getMessage());
+                Thread.sleep(1000L * attempt); // Exponential backoff
+            }
+        }
+    }
+
+    private void fetch(FileChannel channel, Segment segment) throws IOException, InterruptedException {
+        long from = segment.start + segment.written;
+        HttpRequest rangeRequest = HttpRequest.newBuilder(request, (name, value) -> true)
+                .uri(uri)
+                .header("Range", "bytes=" + from + "-" + segment.end)
+                .header("If-Range", ifRange)
+                .build();
+        HttpResponse<InputStream> response = client.send(rangeRequest, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 206) {
+                // 200 means the file changed since the HEAD request (or ranges are not honoured after all)
+                throw new IOException("Expected partial content but got status " + response.statusCode());
+            }
+            if (!matchesContentRange(response.headers(), from, segment.end)) {
+                throw new IOException("Unexpected Content-Range: "
+                        + response.headers().firstValue("Content-Range").orElse("none"));
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (segment.remaining() > 0) {
+                int read = body.read(buffer, 0, (int) Math.min(buffer.length, segment.remaining()));
+                if (read == -1) {
+                    throw new IOException("Segment ended early at byte " + (segment.start + segment.written));
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    segment.written += channel.write(chunk, segment.start + segment.written);
+                }
+            }
+        }
+    }
+
+    private boolean matchesContentRange(HttpHeaders responseHeaders, long from, long to) {
+        Optional<String> contentRange = responseHeaders.firstValue("Content-Range");
+        if (contentRange.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange.get().trim());
+        return matcher.matches()
+                && Long.parseLong(matcher.group(1)) == from
+                && Long.parseLong(matcher.group(2)) == to
+                && (matcher.group(3).equals("*") || Long.parseLong(matcher.group(3)) == size);
+    }
+}
@@ -0,0 +1,60 @@
+package de.onyxmoon.modsync.provider.http;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one.
+ * <p>
+ * While a call for a key is in flight, further calls with an equal key do not start
+ * their own call but receive the result of the running one. Once it completes the key
+ * is released, so later calls start fresh. Every caller gets its own dependent future;
+ * cancelling it does not affect the shared call or the other callers. The result
+ * object itself is shared by all callers, so it must not be mutated.
+ *
+ * @param <K> key type; must implement equals/hashCode
+ * @param <V> result type
+ */
+public final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call, or joins an identical call that is already in flight.
+     *
+     * @param key  identifies identical calls
+     * @param call starts the call; only invoked if no call for the key is in flight
+     * @return the result of the (possibly shared) call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            call.get().whenComplete((value, ex) -> {
+                // Release the key first, so callers arriving after completion start a new call
+                inFlight.remove(key, created);
+                if (ex != null) {
+                    created.completeExceptionally(ex);
+                } else {
+                    created.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+
+    /**
+     * @return the number of calls currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -3,16 +3,17 @@ package de.onyxmoon.modsync.provider.modtale;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.ModProviderWithDownloadHandler.DownloadResult;
+import de.onyxmoon.modsync.provider.http.DownloadScheduler;
+import de.onyxmoon.modsync.provider.http.ResumableDownload;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -32,6 +33,8 @@ class ModtaleDownloader {
             .followRedirects(HttpClient.Redirect.NORMAL)
             .build();
 
+    private static final int MAX_RETRY_ATTEMPTS = 3;
+
     private static final Pattern CONTENT_DISPOSITION_FILENAME = Pattern.compile(
             "filename\\*?=[\"']?(?:UTF-8'')?([^\"';\\s]+)[\"']?",
             Pattern.CASE_INSENSITIVE
@@ -39,17 +42,19 @@ class ModtaleDownloader {
 
     /**
      * Downloads a file from Modtale with authentication.
+     * Retries continue a partially downloaded file where possible (see {@link ResumableDownload}).
      *
      * @param downloadUrl the URL to download from
      * @param apiKey      the Modtale API key
      * @param targetDir   the directory to download to
+     * @param expected    the length and hash the provider published for the file
      * @return CompletableFuture containing the download result
      */
-    CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir) {
-        return CompletableFuture.supplyAsync(() -> {
+    CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir,
+                                               ExpectedChecksum expected) {
+        return DownloadScheduler.shared().submit(URI.create(downloadUrl), () -> {
+            Path partFile = targetDir.resolve(UUID.randomUUID() + ResumableDownload.PART_SUFFIX);
             try {
-                Path tempFile = targetDir.resolve(UUID.randomUUID() + ".tmp");
-
                 HttpRequest request = HttpRequest.newBuilder()
                         .uri(URI.create(downloadUrl))
                         .header("X-MODTALE-KEY", apiKey)
@@ -59,45 +64,40 @@ class ModtaleDownloader {
 
                 LOGGER.atInfo().log("Downloading from Modtale: %s", downloadUrl);
 
-                HttpResponse<InputStream> response = HTTP_CLIENT.send(
-                        request, HttpResponse.BodyHandlers.ofInputStream());
-
-                if (response.statusCode() != 200) {
-                    throw new IOException("Download failed with status: " + response.statusCode());
-                }
+                // Save to part file, hashing while writing
+                ResumableDownload.Result result = ResumableDownload.download(
+                        HTTP_CLIENT, request, partFile, MAX_RETRY_ATTEMPTS, expected);
 
                 // Extract filename from Content-Disposition header
-                String fileName = extractFileName(response);
+                String fileName = extractFileName(result.headers());
                 LOGGER.atInfo().log("Extracted filename from Content-Disposition: %s", fileName);
 
-                // Save to temp file
-                try (InputStream inputStream = response.body()) {
-                    Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                }
-
-                long fileSize = Files.size(tempFile);
-                if (fileSize == 0) {
-                    Files.deleteIfExists(tempFile);
-                    throw new IOException("Downloaded file is empty");
-                }
-
-                return new DownloadResult(tempFile, fileName, fileSize);
+                return new DownloadResult(result.file(), fileName, result.size(), result.sha256());
 
             } catch (IOException | InterruptedException e) {
                 if (e instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                 }
+                deleteQuietly(partFile);
                 throw new RuntimeException("Modtale download failed: " + e.getMessage(), e);
             }
         });
     }
 
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.atWarning().log("Could not delete partial download: %s", file);
+        }
+    }
+
     /**
      * Extracts filename from Content-Disposition header.
      * Supports both standard and RFC 5987 encoded filenames.
      */
-    private String extractFileName(HttpResponse<?> response) {
-        return response.headers()
+    private String extractFileName(HttpHeaders headers) {
+        return headers
                 .firstValue("Content-Disposition")
                 .map(this::parseContentDisposition)
                 .orElse(null);
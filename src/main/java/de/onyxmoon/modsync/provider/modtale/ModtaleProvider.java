@@ -7,8 +7,10 @@ import de.onyxmoon.modsync.api.ModProviderWithDownloadHandler;
 import de.onyxmoon.modsync.api.ParsedModUrl;
 import de.onyxmoon.modsync.api.model.provider.ModEntry;
 import de.onyxmoon.modsync.api.model.provider.ModList;
+import de.onyxmoon.modsync.provider.http.RateLimiterRegistry;
 import de.onyxmoon.modsync.provider.modtale.client.ModtaleApiException;
 import de.onyxmoon.modsync.provider.modtale.client.ModtaleClient;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -44,14 +46,14 @@ public class ModtaleProvider implements ModProviderWithDownloadHandler {
 
     @Override
     public CompletableFuture<ModList> fetchModList(String apiKey, String projectId) {
-        ModtaleClient client = new ModtaleClient(apiKey);
+        ModtaleClient client = client(apiKey);
         return client.getProject(projectId)
                 .thenApply(adapter::adaptToModList);
     }
 
     @Override
     public CompletableFuture<Boolean> validateApiKey(String apiKey) {
-        ModtaleClient client = new ModtaleClient(apiKey);
+        ModtaleClient client = client(apiKey);
         return client.validateKey();
     }
 
@@ -87,7 +89,7 @@ public class ModtaleProvider implements ModProviderWithDownloadHandler {
 
     @Override
     public CompletableFuture<ModEntry> fetchMod(String apiKey, String modId) {
-        ModtaleClient client = new ModtaleClient(apiKey);
+        ModtaleClient client = client(apiKey);
         return client.getProject(modId)
                 .thenApply(adapter::adaptToModEntry);
     }
@@ -100,7 +102,7 @@ public class ModtaleProvider implements ModProviderWithDownloadHandler {
 
     @Override
     public CompletableFuture<List<ModEntry>> searchMods(String apiKey, String searchTerm) {
-        ModtaleClient client = new ModtaleClient(apiKey);
+        ModtaleClient client = client(apiKey);
         return client.searchProjects(searchTerm, 10, 0)
                 .thenApply(adapter::adaptSearch);
     }
@@ -136,10 +138,20 @@ public class ModtaleProvider implements ModProviderWithDownloadHandler {
                 });
     }
 
+    private ModtaleClient client(String apiKey) {
+        return new ModtaleClient(apiKey, RateLimiterRegistry.shared().get(SOURCE, RATE_LIMIT));
+    }
+
     // ==================== DownloadHandler Implementation ====================
 
     @Override
     public CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir) {
-        return downloader.download(downloadUrl, apiKey, targetDir);
+        return downloader.download(downloadUrl, apiKey, targetDir, ExpectedChecksum.NONE);
+    }
+
+    @Override
+    public CompletableFuture<DownloadResult> download(String downloadUrl, String apiKey, Path targetDir,
+                                                      ExpectedChecksum expected) {
+        return downloader.download(downloadUrl, apiKey, targetDir, expected);
     }
 }
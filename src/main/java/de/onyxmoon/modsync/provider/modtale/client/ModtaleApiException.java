@@ -1,22 +1,17 @@
 package de.onyxmoon.modsync.provider.modtale.client;
 
+import de.onyxmoon.modsync.api.ProviderApiException;
+
 /**
  * Custom exception for Modtale API errors.
  */
-public class ModtaleApiException extends RuntimeException {
-    private final int statusCode;
+public class ModtaleApiException extends ProviderApiException {
 
     public ModtaleApiException(String message, int statusCode) {
-        super(message);
-        this.statusCode = statusCode;
+        super(message, statusCode);
     }
 
     public ModtaleApiException(String message, int statusCode, Throwable cause) {
-        super(message, cause);
-        this.statusCode = statusCode;
-    }
-
-    public int getStatusCode() {
-        return statusCode;
+        super(message, statusCode, cause);
     }
 }
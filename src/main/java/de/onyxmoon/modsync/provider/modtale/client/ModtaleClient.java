@@ -2,6 +2,12 @@ package de.onyxmoon.modsync.provider.modtale.client;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import de.onyxmoon.modsync.provider.http.HttpResponseCache;
+import de.onyxmoon.modsync.provider.http.JsonBodyHandler;
+import de.onyxmoon.modsync.provider.http.RateLimitedHttp;
+import de.onyxmoon.modsync.provider.http.RateLimiter;
+import de.onyxmoon.modsync.provider.http.RequestKey;
+import de.onyxmoon.modsync.provider.http.SingleFlight;
 import de.onyxmoon.modsync.provider.modtale.model.ModtaleProjectResponse;
 import de.onyxmoon.modsync.provider.modtale.model.ModtaleSearchResponse;
 import de.onyxmoon.modsync.storage.InstantTypeAdapter;
@@ -16,6 +22,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * HTTP client for Modtale API.
@@ -36,10 +43,19 @@ public class ModtaleClient {
             .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
             .create();
 
+    /**
+     * Concurrent identical requests (same endpoint, parameters and API key) share one HTTP call
+     * and its decoded response. Every caller receives the same response object, so responses
+     * must be treated as read-only; copy before changing anything.
+     */
+    private static final SingleFlight<RequestKey, Object> IN_FLIGHT = new SingleFlight<>();
+
     private final String apiKey;
+    private final RateLimiter rateLimiter;
 
-    public ModtaleClient(String apiKey) {
+    public ModtaleClient(String apiKey, RateLimiter rateLimiter) {
         this.apiKey = Objects.requireNonNull(apiKey, "apiKey cannot be null");
+        this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter cannot be null");
     }
 
     public CompletableFuture<ModtaleProjectResponse> getProject(String projectId) {
@@ -66,21 +82,28 @@ public class ModtaleClient {
                 .uri(URI.create(url))
                 .header("X-MODTALE-KEY", apiKey)
                 .header("Accept", "application/json")
+                .header("Accept-Encoding", JsonBodyHandler.ACCEPT_ENCODING)
                 .GET()
                 .build();
 
-        return SHARED_HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    int status = response.statusCode();
-                    if (status == 200) {
-                        return SHARED_GSON.fromJson(response.body(), responseType);
-                    } else if (status == 401 || status == 403) {
-                        throw new ModtaleApiException("Invalid API key", status);
-                    } else if (status == 429) {
-                        throw new ModtaleApiException("Rate limit exceeded", status);
-                    } else {
-                        throw new ModtaleApiException("API request failed: " + status, status);
-                    }
-                });
+        return IN_FLIGHT.execute(new RequestKey("GET", url, null, apiKey), () -> HttpResponseCache.shared().sendAsync(request, apiKey,
+                                new JsonBodyHandler<>(SHARED_GSON, responseType),
+                                (conditional, bodyHandler) -> RateLimitedHttp.sendAsync(
+                                        SHARED_HTTP_CLIENT, rateLimiter, conditional, bodyHandler))
+                        .thenApplyAsync(ModtaleClient::decode, JsonBodyHandler.DECODE_EXECUTOR))
+                .thenApply(responseType::cast);
+    }
+
+    private static <T> T decode(HttpResponse<Supplier<T>> response) {
+        int status = response.statusCode();
+        if (status == 200) {
+            return response.body().get();
+        } else if (status == 401 || status == 403) {
+            throw new ModtaleApiException("Invalid API key", status);
+        } else if (status == 429) {
+            throw new ModtaleApiException("Rate limit exceeded", status);
+        } else {
+            throw new ModtaleApiException("API request failed: " + status, status);
+        }
     }
 }
@@ -5,27 +5,38 @@ import com.hypixel.hytale.common.plugin.PluginManifest;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.ModProviderWithDownloadHandler;
+import de.onyxmoon.modsync.api.ModProviderWithDownloadHandler.DownloadResult;
 import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.PluginType;
 import de.onyxmoon.modsync.api.model.InstalledState;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.provider.ModVersion;
-import de.onyxmoon.modsync.util.FileHashUtils;
+import de.onyxmoon.modsync.provider.http.DownloadScheduler;
+import de.onyxmoon.modsync.provider.http.ResumableDownload;
+import de.onyxmoon.modsync.provider.http.SegmentedDownload;
+import de.onyxmoon.modsync.storage.ArtifactStore;
+import de.onyxmoon.modsync.storage.model.PluginConfig;
+import de.onyxmoon.modsync.storage.model.StoredArtifact;
+import de.onyxmoon.modsync.util.ChecksumMismatchException;
+import de.onyxmoon.modsync.util.ExpectedChecksum;
 import de.onyxmoon.modsync.util.ManifestReader;
+import de.onyxmoon.modsync.util.PluginFileInspector;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Service for downloading and installing mods.
@@ -34,15 +45,24 @@ public class ModDownloadService {
     private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
     private static final int CONNECT_TIMEOUT_SECONDS = 30;
     private static final int MAX_RETRY_ATTEMPTS = 3;
+
+    /**
+     * Runs artifact store lookups, which block on the store lock, a copy and a hash,
+     * so they never occupy the common pool.
+     */
+    private static final Executor STORE_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ModSync-ArtifactStore-", 1).factory());
     private final ModSync modSync;
     private final Path modsFolder;
     private final Path earlyPluginsFolder;
+    private final ArtifactStore artifactStore;
     private final HttpClient httpClient;
 
-    public ModDownloadService(ModSync modSync, Path modsFolder, Path earlyPluginsFolder) {
+    public ModDownloadService(ModSync modSync, Path modsFolder, Path earlyPluginsFolder, ArtifactStore artifactStore) {
         this.modSync = modSync;
         this.modsFolder = modsFolder;
         this.earlyPluginsFolder = earlyPluginsFolder;
+        this.artifactStore = artifactStore;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_SECONDS))
                 .followRedirects(HttpClient.Redirect.NORMAL)
@@ -65,6 +85,9 @@ public class ModDownloadService {
      * successful validation (manifest readable, hash calculated). If any step fails,
      * the temp file is cleaned up and no orphan files remain.
      *
+     * If the file is in the {@link ArtifactStore}, it is installed from there without
+     * downloading. Downloaded files are added to the store after installation.
+     *
      * If the provider is a {@link ModProviderWithDownloadHandler}, custom download logic is used
      * (e.g., authenticated downloads, filename from Content-Disposition header).
      */
@@ -72,6 +95,26 @@ public class ModDownloadService {
             ManagedMod mod,
             ModVersion version) {
 
+        PluginType pluginType = mod.getPluginType();
+        Path targetFolder = getTargetFolder(pluginType);
+
+        return CompletableFuture.supplyAsync(() -> installFromStore(mod, version, targetFolder, pluginType),
+                        STORE_EXECUTOR)
+                .thenCompose(installed -> installed.isPresent()
+                        ? CompletableFuture.completedFuture(installed.get())
+                        : download(mod, version, targetFolder, pluginType)
+                                .thenApply(state -> storeArtifact(mod, version, state)));
+    }
+
+    /**
+     * Download and install a mod from its provider.
+     */
+    private CompletableFuture<InstalledState> download(
+            ManagedMod mod,
+            ModVersion version,
+            Path targetFolder,
+            PluginType pluginType) {
+
         String downloadUrl = version.getDownloadUrl();
         if (downloadUrl == null || downloadUrl.isEmpty()) {
             return CompletableFuture.failedFuture(
@@ -79,9 +122,6 @@ public class ModDownloadService {
             );
         }
 
-        PluginType pluginType = mod.getPluginType();
-        Path targetFolder = getTargetFolder(pluginType);
-
         // Check if provider has custom download logic
         ModProvider provider = modSync.getProviderRegistry().getProvider(mod.getSource());
         String apiKey = modSync.getConfigStorage().getConfig().getApiKey(mod.getSource());
@@ -94,13 +134,64 @@ public class ModDownloadService {
         // Standard download
         String fileName = version.getFileName();
         Path targetPath = targetFolder.resolve(fileName);
-        Path tempPath = targetFolder.resolve(fileName + ".tmp");
+        Path tempPath = targetFolder.resolve(fileName + ResumableDownload.PART_SUFFIX);
 
         LOGGER.atInfo().log("Downloading %s (%s) to %s", mod.getName(), pluginType.getDisplayName(), targetPath);
 
-        return downloadToTemp(downloadUrl, tempPath)
-                .thenApply(downloadedTempPath -> processDownloadedFile(
-                        downloadedTempPath, targetPath, fileName, version, mod, pluginType));
+        return downloadToTemp(downloadUrl, tempPath, ExpectedChecksum.of(version))
+                .thenApply(downloaded -> processDownloadedFile(
+                        downloaded, targetPath, fileName, version, mod, pluginType));
+    }
+
+    /**
+     * Installs a mod from the artifact store, if the file is stored there.
+     * Any problem with the store falls back to downloading.
+     */
+    private Optional<InstalledState> installFromStore(
+            ManagedMod mod,
+            ModVersion version,
+            Path targetFolder,
+            PluginType pluginType) {
+        if (!artifactStore.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Path tempPath = targetFolder.resolve(UUID.randomUUID() + ResumableDownload.PART_SUFFIX);
+        try {
+            StoredArtifact artifact = artifactStore.install(mod.getSource(), version.getVersionId(), tempPath)
+                    .orElse(null);
+            if (artifact == null) {
+                return Optional.empty();
+            }
+
+            String fileName = artifact.getFileName() != null ? artifact.getFileName() : version.getFileName();
+            LOGGER.atInfo().log("Installing %s (%s) from the artifact store as %s",
+                    mod.getName(), pluginType.getDisplayName(), fileName);
+            DownloadResult stored = new DownloadResult(tempPath, fileName, artifact.getSize(), artifact.getSha256());
+            return Optional.of(processDownloadedFile(
+                    stored, targetFolder.resolve(fileName), fileName, version, mod, pluginType));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.atWarning().log("Could not install %s from the artifact store, downloading instead: %s",
+                    mod.getName(), e.getMessage());
+            cleanupTempFile(tempPath);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Adds an installed mod file to the artifact store. Failures only cost a later download.
+     */
+    private InstalledState storeArtifact(ManagedMod mod, ModVersion version, InstalledState installed) {
+        if (!artifactStore.isEnabled()) {
+            return installed;
+        }
+        try {
+            artifactStore.put(mod.getSource(), version.getVersionId(), Path.of(installed.getFilePath()),
+                    installed.getFileHash(), installed.getFileSize(), installed.getFileName());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.atWarning().log("Could not add %s to the artifact store: %s", mod.getName(), e.getMessage());
+        }
+        return installed;
     }
 
     /**
@@ -115,7 +206,7 @@ public class ModDownloadService {
             Path targetFolder,
             PluginType pluginType) {
 
-        return handler.download(downloadUrl, apiKey, targetFolder)
+        return handler.download(downloadUrl, apiKey, targetFolder, ExpectedChecksum.of(version))
                 .thenApply(result -> {
                     // Use filename from handler (e.g., Content-Disposition) or fall back to version
                     String fileName = result.actualFileName() != null
@@ -127,26 +218,45 @@ public class ModDownloadService {
                             mod.getName(), pluginType.getDisplayName(), fileName);
 
                     return processDownloadedFile(
-                            result.downloadedFile(), targetPath, fileName, version, mod, pluginType);
+                            result, targetPath, fileName, version, mod, pluginType);
                 });
     }
 
     /**
-     * Process a downloaded temp file: validate, hash, read manifest, move to final location.
+     * Process a downloaded temp file: validate, read manifest, move to final location.
+     * Uses the hash and size computed during download; if the downloader did not
+     * provide them, hash and manifest are read together in a single pass.
      */
     private InstalledState processDownloadedFile(
-            Path downloadedTempPath,
+            DownloadResult downloaded,
             Path targetPath,
             String fileName,
             ModVersion version,
             ManagedMod mod,
             PluginType pluginType) {
+        Path downloadedTempPath = downloaded.downloadedFile();
         try {
             // Validate BEFORE moving to final location
-            String hash = FileHashUtils.calculateSha256(downloadedTempPath);
-            long fileSize = Files.size(downloadedTempPath);
-            PluginManifest manifest = ManifestReader.readManifest(downloadedTempPath)
-                    .orElse(null);
+            String hash;
+            long fileSize;
+            PluginManifest manifest;
+            if (downloaded.fileHash() != null) {
+                hash = downloaded.fileHash();
+                fileSize = downloaded.fileSize();
+                manifest = ManifestReader.readManifest(downloadedTempPath).orElse(null);
+            } else {
+                PluginFileInspector.Inspection inspection = PluginFileInspector.inspect(downloadedTempPath);
+                hash = inspection.sha256();
+                fileSize = inspection.size();
+                manifest = inspection.manifest();
+            }
+
+            // Downloads are verified while streaming; handlers that ignore the expectation are caught here
+            if (version.getFileSize() > 0 && fileSize != version.getFileSize()) {
+                cleanupTempFile(downloadedTempPath);
+                throw new RuntimeException("Downloaded file has " + fileSize + " bytes, expected "
+                        + version.getFileSize());
+            }
 
             if (manifest == null) {
                 cleanupTempFile(downloadedTempPath);
@@ -191,61 +301,85 @@ public class ModDownloadService {
 
     /**
      * Downloads a file to a temp location with retry logic.
+     * Large files are fetched over several connections if the server supports it
+     * (see {@link SegmentedDownload}). Otherwise retries continue a partially
+     * downloaded file where possible (see {@link ResumableDownload}).
+     * The SHA-256 hash and size are computed while the body is written, and the body is
+     * verified against the length and hash published by the provider.
+     * Runs through the shared {@link DownloadScheduler}, so concurrency is capped.
      * Does NOT move to final location - caller must do that after validation.
      */
-    private CompletableFuture<Path> downloadToTemp(String url, Path tempPath) {
-        return CompletableFuture.supplyAsync(() -> {
-            IOException lastException = null;
+    private CompletableFuture<DownloadResult> downloadToTemp(String url, Path partPath, ExpectedChecksum expected) {
+        return DownloadScheduler.shared().submit(URI.create(url), () -> {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("User-Agent", "ModSync")
+                    .header("Accept", "*/*")
+                    .GET()
+                    .build();
 
-            for (int attempt = 1; attempt <= MAX_RETRY_ATTEMPTS; attempt++) {
-                try {
-                    HttpRequest request = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("User-Agent", "ModSync")
-                            .header("Accept", "*/*")
-                            .GET()
-                            .build();
-
-                    HttpResponse<InputStream> response = httpClient.send(request,
-                            HttpResponse.BodyHandlers.ofInputStream());
-
-                    if (response.statusCode() != 200) {
-                        throw new IOException("Download failed with status: " + response.statusCode());
-                    }
-
-                    try (InputStream inputStream = response.body()) {
-                        Files.copy(inputStream, tempPath, StandardCopyOption.REPLACE_EXISTING);
-                    }
-
-                    // Verify download completed
-                    if (!Files.exists(tempPath) || Files.size(tempPath) == 0) {
-                        throw new IOException("Downloaded file is empty or missing");
-                    }
-
-                    return tempPath; // Success
-                } catch (IOException e) {
-                    lastException = e;
-                    LOGGER.atWarning().log("Download attempt %d failed: %s", attempt, e.getMessage());
-                    cleanupTempFile(tempPath);
-                    if (attempt < MAX_RETRY_ATTEMPTS) {
-                        try {
-                            Thread.sleep(1000L * attempt); // Exponential backoff
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new RuntimeException("Download interrupted", ie);
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Download interrupted", e);
+            try {
+                ResumableDownload.Result result = downloadSegmented(request, partPath, expected).orElse(null);
+                if (result == null) {
+                    result = ResumableDownload.download(httpClient, request, partPath, MAX_RETRY_ATTEMPTS, expected);
                 }
+                return new DownloadResult(result.file(), null, result.size(), result.sha256());
+            } catch (IOException e) {
+                cleanupTempFile(partPath);
+                throw new RuntimeException("Download failed after " + MAX_RETRY_ATTEMPTS + " attempts: " +
+                        e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cleanupTempFile(partPath);
+                throw new RuntimeException("Download interrupted", e);
             }
-
-            throw new RuntimeException("Download failed after " + MAX_RETRY_ATTEMPTS + " attempts: " +
-                    lastException.getMessage(), lastException);
         });
     }
 
+    /**
+     * Downloads a file in parallel segments if it is large enough and the server supports ranges.
+     *
+     * Only tried if the provider published the file size and it is above the threshold,
+     * since finding out whether the server supports ranges costs an extra HEAD request.
+     * The segments beyond the first count against the host's download limit; if the host
+     * has no free capacity, fewer segments are used.
+     *
+     * @param expected the length and hash published by the provider
+     * @return the result, or empty if the file should be downloaded in one piece
+     * @throws ChecksumMismatchException if the assembled file does not match the provider's checksum
+     */
+    private Optional<ResumableDownload.Result> downloadSegmented(HttpRequest request, Path partPath,
+                                                                 ExpectedChecksum expected)
+            throws ChecksumMismatchException, InterruptedException {
+        PluginConfig config = modSync.getConfigStorage().getConfig();
+        int segments = config.getDownloadSegments();
+        long minSize = config.getSegmentedDownloadThresholdMb() * 1024L * 1024L;
+        if (segments < 2 || !expected.hasLength() || expected.length() < minSize) {
+            return Optional.empty();
+        }
+
+        // This download already holds one connection to the host
+        DownloadScheduler scheduler = DownloadScheduler.shared();
+        int extraConnections = scheduler.reserveConnections(request.uri(), segments - 1);
+        try {
+            if (extraConnections < 1) {
+                return Optional.empty();
+            }
+            return SegmentedDownload.download(httpClient, request, partPath, extraConnections + 1, minSize,
+                    MAX_RETRY_ATTEMPTS, expected);
+        } catch (ChecksumMismatchException e) {
+            // The server delivered the wrong bytes; downloading them again in one piece will not help
+            cleanupTempFile(partPath);
+            throw e;
+        } catch (IOException e) {
+            LOGGER.atWarning().log("Segmented download failed, downloading in one piece: %s", e.getMessage());
+            cleanupTempFile(partPath);
+            return Optional.empty();
+        } finally {
+            scheduler.releaseConnections(request.uri(), extraConnections);
+        }
+    }
+
     /**
      * Moves a file with fallback to copy+delete if atomic move fails.
      */
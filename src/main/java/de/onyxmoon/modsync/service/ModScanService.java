@@ -1,22 +1,31 @@
 package de.onyxmoon.modsync.service;
 
-import com.hypixel.hytale.common.plugin.PluginIdentifier;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.PluginType;
 import de.onyxmoon.modsync.api.model.*;
 import de.onyxmoon.modsync.api.model.provider.ModEntry;
-import de.onyxmoon.modsync.util.FileHashUtils;
-import de.onyxmoon.modsync.util.ManifestReader;
+import de.onyxmoon.modsync.storage.FileFingerprintCache;
+import de.onyxmoon.modsync.storage.model.FileFingerprint;
+import de.onyxmoon.modsync.util.PluginFileInspector;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 /**
@@ -26,6 +35,8 @@ import java.util.stream.Stream;
 public class ModScanService {
     private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
     private static final String DEFAULT_IMPORT_SOURCE = "curseforge";
+    private static final int MAX_SCAN_CONCURRENCY = Math.clamp(Runtime.getRuntime().availableProcessors(), 2, 8);
+    private static final long SCAN_FILE_TIMEOUT_SECONDS = 30;
     private final ModSync modSync;
 
     public ModScanService(ModSync modSync) {
@@ -34,49 +45,141 @@ public class ModScanService {
 
     /**
      * Scans for unmanaged mods in the mods and earlyplugins folders.
+     * Files from both folders are inspected in parallel; the result is ordered by
+     * folder (mods first) and then by file name.
      *
      * @return List of unmanaged mods found
      */
     public List<UnmanagedMod> scanForUnmanagedMods() {
         ManagedModRegistry registry = modSync.getManagedModStorage().getRegistry();
+        List<ScanTask> tasks = new ArrayList<>();
 
         // Scan mods folder
         Path modsFolder = modSync.getDownloadService().getModsFolder();
-        List<UnmanagedMod> unmanaged = new ArrayList<>(scanFolder(modsFolder, PluginType.PLUGIN, registry));
+        tasks.addAll(listFolder(modsFolder, PluginType.PLUGIN, registry));
 
         // Scan early plugins folder
         Path earlyPluginsFolder = modSync.getDownloadService().getEarlyPluginsFolder();
         if (Files.exists(earlyPluginsFolder)) {
-            unmanaged.addAll(scanFolder(earlyPluginsFolder, PluginType.EARLY_PLUGIN, registry));
+            tasks.addAll(listFolder(earlyPluginsFolder, PluginType.EARLY_PLUGIN, registry));
         }
 
+        List<UnmanagedMod> unmanaged = scanFiles(tasks);
+
+        // Persist fingerprints so the next scan can skip unchanged files
+        modSync.getFingerprintCache().save();
+
         return unmanaged;
     }
 
-    private List<UnmanagedMod> scanFolder(Path folder, PluginType pluginType, ManagedModRegistry registry) {
-        List<UnmanagedMod> unmanaged = new ArrayList<>();
+    /**
+     * A plugin file waiting to be scanned.
+     */
+    private record ScanTask(Path path, PluginType pluginType) {
+    }
 
+    private List<ScanTask> listFolder(Path folder, PluginType pluginType, ManagedModRegistry registry) {
+        List<Path> pluginFiles;
         try (Stream<Path> files = Files.list(folder)) {
-            files.filter(this::isPluginFile)
-                    .filter(path -> !isManaged(path, registry))
-                    .filter(path -> !isSelf(path))
-                    .forEach(path -> {
-                        try {
-                            UnmanagedMod mod = scanPluginFile(path, pluginType);
-                            if (mod != null) {
-                                unmanaged.add(mod);
-                            }
-                        } catch (Exception e) {
-                            LOGGER.atWarning().log("Failed to scan file: %s - %s", path.getFileName(), e.getMessage());
-                        }
-                    });
+            pluginFiles = files.filter(this::isPluginFile)
+                    .sorted()
+                    .toList();
         } catch (IOException e) {
             LOGGER.atWarning().log("Failed to scan folder: %s - %s", folder, e.getMessage());
+            return List.of();
+        }
+
+        // Forget fingerprints of files that were removed from the folder
+        modSync.getFingerprintCache().retainOnly(folder, new HashSet<>(pluginFiles));
+
+        return pluginFiles.stream()
+                .filter(path -> !isManaged(path, registry))
+                .filter(path -> !isSelf(path))
+                .map(path -> new ScanTask(path, pluginType))
+                .toList();
+    }
+
+    /**
+     * Scans the given files on a bounded worker pool.
+     * <p>
+     * Each file is supervised by a virtual thread that holds one of
+     * {@link #MAX_SCAN_CONCURRENCY} permits while its file is inspected on a fresh
+     * platform thread. A file that takes longer than {@link #SCAN_FILE_TIMEOUT_SECONDS}
+     * is cancelled and skipped, and its permit goes to the next file right away: a
+     * thread stuck in I/O that ignores interruption (e.g. {@code ZipFile}) is abandoned
+     * instead of holding up the remaining files. Scan threads are daemons, so abandoned
+     * ones never keep the server from shutting down.
+     */
+    private List<UnmanagedMod> scanFiles(List<ScanTask> tasks) {
+        List<UnmanagedMod> unmanaged = new ArrayList<>();
+        if (tasks.isEmpty()) {
+            return unmanaged;
+        }
+
+        int workerCount = Math.min(MAX_SCAN_CONCURRENCY, tasks.size());
+        ExecutorService workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofPlatform().name("ModSync-Scan-", 1).daemon().factory());
+        ExecutorService supervisors = Executors.newVirtualThreadPerTaskExecutor();
+        Semaphore permits = new Semaphore(workerCount);
+
+        try {
+            List<Future<UnmanagedMod>> futures = new ArrayList<>(tasks.size());
+            for (ScanTask task : tasks) {
+                futures.add(supervisors.submit(() -> scanWithTimeout(task, workers, permits)));
+            }
+
+            // Collect in submission order to keep the result deterministic
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    UnmanagedMod mod = futures.get(i).get();
+                    if (mod != null) {
+                        unmanaged.add(mod);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    LOGGER.atWarning().log("Failed to scan file: %s - %s",
+                            tasks.get(i).path().getFileName(), cause.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.atWarning().log("Scan interrupted, returning %d results found so far", unmanaged.size());
+        } finally {
+            supervisors.shutdownNow();
+            workers.shutdownNow();
         }
 
         return unmanaged;
     }
 
+    private UnmanagedMod scanWithTimeout(ScanTask task, ExecutorService workers, Semaphore permits)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            // Every file gets its own thread, so the timeout starts when scanning does
+            Future<UnmanagedMod> work = workers.submit(() -> scanPluginFile(task.path(), task.pluginType()));
+            try {
+                return work.get(SCAN_FILE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // Interrupts interruptible reads; a thread blocked elsewhere is left behind
+                work.cancel(true);
+                LOGGER.atWarning().log("Timed out scanning %s after %d seconds, skipping",
+                        task.path().getFileName(), SCAN_FILE_TIMEOUT_SECONDS);
+                return null;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                LOGGER.atWarning().log("Failed to scan file: %s - %s",
+                        task.path().getFileName(), cause.getMessage());
+                return null;
+            } catch (InterruptedException e) {
+                work.cancel(true);
+                throw e;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
     private boolean isPluginFile(Path path) {
         String fileName = path.toString().toLowerCase();
         return fileName.endsWith(".jar") || fileName.endsWith(".zip");
@@ -96,11 +199,18 @@ public class ModScanService {
     private UnmanagedMod scanPluginFile(Path path, PluginType pluginType) {
         try {
             String fileName = path.getFileName().toString();
-            long fileSize = Files.size(path);
-            String fileHash = FileHashUtils.calculateSha256(path);
-            PluginIdentifier identifier = ManifestReader.readIdentifier(path).orElse(null);
-
-            return new UnmanagedMod(path, fileName, identifier, fileHash, fileSize, pluginType);
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+
+            // Only hash and parse the file if it changed since it was last fingerprinted
+            FileFingerprintCache fingerprintCache = modSync.getFingerprintCache();
+            FileFingerprint fingerprint = fingerprintCache.lookup(path, attrs).orElse(null);
+            if (fingerprint == null) {
+                PluginFileInspector.Inspection inspection = PluginFileInspector.inspect(path);
+                fingerprint = fingerprintCache.record(path, attrs, inspection.sha256(), inspection.manifest());
+            }
+
+            return new UnmanagedMod(path, fileName, fingerprint.getIdentifier(),
+                    fingerprint.getSha256(), fingerprint.getSize(), pluginType);
         } catch (IOException e) {
             LOGGER.atWarning().log("Failed to read file: %s - %s", path.getFileName(), e.getMessage());
             return null;
@@ -197,8 +307,9 @@ public class ModScanService {
      *
      * @param unmanagedMod The unmanaged mod to import
      * @param modEntry     The matched entry from the provider
+     * @return a future completed once the imported mod has been written to disk
      */
-    public void importWithEntry(UnmanagedMod unmanagedMod, ModEntry modEntry, String source) {
+    public CompletableFuture<Void> importWithEntry(UnmanagedMod unmanagedMod, ModEntry modEntry, String source) {
         // Create InstalledState from the unmanaged mod
         InstalledState installedState = InstalledState.builder()
                 .identifier(unmanagedMod.identifier())
@@ -231,10 +342,8 @@ public class ModScanService {
                 .build();
 
         // Add to storage using the same method as AddCommand
-        modSync.getManagedModStorage().addMod(managedMod);
-
-        LOGGER.atInfo().log("Imported %s as %s", unmanagedMod.fileName(), modEntry.getName());
-
+        return modSync.getManagedModStorage().addMod(managedMod)
+                .thenRun(() -> LOGGER.atInfo().log("Imported %s as %s", unmanagedMod.fileName(), modEntry.getName()));
     }
 
     /**
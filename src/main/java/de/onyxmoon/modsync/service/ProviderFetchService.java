@@ -4,12 +4,22 @@ import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.InvalidModUrlException;
 import de.onyxmoon.modsync.api.ModProvider;
 import de.onyxmoon.modsync.api.ParsedModUrl;
+import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.provider.ModEntry;
+import de.onyxmoon.modsync.storage.model.PluginConfig;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service for fetching mod information from providers.
@@ -38,7 +48,10 @@ public class ProviderFetchService {
 
     /**
      * Attempts to fetch mod information from available providers for the given URL.
-     * Tries each provider in order until one succeeds.
+     * <p>
+     * Providers are queried according to the configured {@link ProviderResolutionMode};
+     * the result of the highest-priority provider that finds the mod wins. Missing API
+     * keys are reported for providers ranked before that one (or all, if none succeeded).
      *
      * @param url               the mod URL to fetch
      * @param onMissingApiKey   callback for each provider that requires an API key but doesn't have one configured
@@ -50,16 +63,108 @@ public class ProviderFetchService {
             return CompletableFuture.completedFuture(null);
         }
 
-        List<String> missingApiKeys = new ArrayList<>();
-        return fetchFromProviders(url, providers, missingApiKeys, 0)
+        // Keyed by provider position, so only keys of providers ranked before the winner are reported
+        Map<Integer, String> missingApiKeys = new TreeMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < providers.size(); i++) {
+            ModProvider provider = providers.get(i);
+
+            // Try to parse the URL
+            ParsedModUrl parsedUrl;
+            try {
+                parsedUrl = provider.parse(url);
+            } catch (InvalidModUrlException e) {
+                continue;
+            }
+
+            // Check if we have the required API key
+            String apiKey = modSync.getConfigStorage().getConfig().getApiKey(provider.getSource());
+            if (provider.requiresApiKey() && (apiKey == null || apiKey.isBlank())) {
+                missingApiKeys.put(i, provider.getDisplayName());
+                continue;
+            }
+
+            // Need either modId or slug to fetch
+            if (!parsedUrl.hasModId() && parsedUrl.slug() == null) {
+                continue;
+            }
+
+            candidates.add(new Candidate(provider, parsedUrl, apiKey));
+        }
+
+        PluginConfig config = modSync.getConfigStorage().getConfig();
+        Duration hedgeDelay = switch (config.getProviderResolutionMode()) {
+            case SEQUENTIAL -> null;
+            case PARALLEL -> Duration.ZERO;
+            case HEDGED -> Duration.ofMillis(config.getProviderHedgeDelayMillis());
+        };
+
+        return new Race(candidates, hedgeDelay).run()
                 .whenComplete((result, ex) -> {
-                    // Report all missing API keys after the fetch completes
-                    if (onMissingApiKey != null) {
-                        missingApiKeys.forEach(onMissingApiKey);
+                    // Report missing API keys after the fetch completes
+                    if (onMissingApiKey == null) {
+                        return;
                     }
+                    int resolvedAt = result != null ? providers.indexOf(result.provider()) : providers.size();
+                    missingApiKeys.forEach((position, displayName) -> {
+                        if (position < resolvedAt) {
+                            onMissingApiKey.accept(displayName);
+                        }
+                    });
                 });
     }
 
+    /**
+     * Fetches the current provider entries of several managed mods.
+     * <p>
+     * Mods are grouped by source and each group is fetched with a single
+     * {@link ModProvider#fetchMods} call, so providers with a bulk endpoint need only
+     * a few requests for the whole list. Mods whose provider is unknown or lacks a
+     * required API key are left out; callers report those themselves.
+     *
+     * @param mods the mods to fetch
+     * @return a future per mod, keyed by {@link ManagedMod#getSourceId()}
+     */
+    public Map<String, CompletableFuture<ModEntry>> fetchModEntries(Collection<ManagedMod> mods) {
+        Map<String, List<ManagedMod>> modsBySource = mods.stream()
+                .collect(Collectors.groupingBy(ManagedMod::getSource, LinkedHashMap::new, Collectors.toList()));
+
+        Map<String, CompletableFuture<ModEntry>> entries = new HashMap<>();
+        modsBySource.forEach((source, sourceMods) -> {
+            if (!modSync.getProviderRegistry().hasProvider(source)) {
+                return;
+            }
+            ModProvider provider = modSync.getProviderRegistry().getProvider(source);
+            String apiKey = modSync.getConfigStorage().getConfig().getApiKey(source);
+            if (provider.requiresApiKey() && (apiKey == null || apiKey.isBlank())) {
+                return;
+            }
+
+            if (sourceMods.size() == 1) {
+                // Single fetch keeps the provider's own error message
+                ManagedMod mod = sourceMods.getFirst();
+                entries.put(mod.getSourceId(), provider.fetchMod(apiKey, mod.getModId()));
+                return;
+            }
+
+            List<String> modIds = sourceMods.stream()
+                    .map(ManagedMod::getModId)
+                    .distinct()
+                    .toList();
+            CompletableFuture<Map<String, ModEntry>> batch = provider.fetchMods(apiKey, modIds);
+            for (ManagedMod mod : sourceMods) {
+                entries.put(mod.getSourceId(), batch.thenApply(fetched -> {
+                    ModEntry entry = fetched.get(mod.getModId());
+                    if (entry == null) {
+                        throw new IllegalStateException("Mod not found at " + provider.getDisplayName() + ": " + mod.getName());
+                    }
+                    return entry;
+                }));
+            }
+        });
+        return entries;
+    }
+
     /**
      * Returns a list of provider display names that can parse the given URL.
      *
@@ -72,53 +177,112 @@ public class ProviderFetchService {
                 .toList();
     }
 
-    private CompletableFuture<FetchResult> fetchFromProviders(
-            String url,
-            List<ModProvider> providers,
-            List<String> missingApiKeys,
-            int index) {
-
-        if (index >= providers.size()) {
-            return CompletableFuture.completedFuture(null);
+    /**
+     * A provider that can be asked for the URL.
+     *
+     * @param provider  the provider
+     * @param parsedUrl the URL as parsed by the provider
+     * @param apiKey    the API key to use, may be null
+     */
+    private record Candidate(ModProvider provider, ParsedModUrl parsedUrl, String apiKey) {
+        CompletableFuture<FetchResult> fetch() {
+            try {
+                CompletableFuture<ModEntry> fetchFuture = parsedUrl.hasModId()
+                        ? provider.fetchMod(apiKey, parsedUrl.modId())
+                        : provider.fetchModBySlug(apiKey, parsedUrl.slug());
+                return fetchFuture.thenApply(entry -> entry != null ? new FetchResult(provider, parsedUrl, entry) : null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
         }
+    }
 
-        ModProvider provider = providers.get(index);
+    /**
+     * Queries candidates in priority order and settles on the first one that found the
+     * mod once every higher-priority candidate has failed.
+     * <p>
+     * The next candidate is started when a running one fails, or after the hedge delay
+     * (null: never, zero: all at once). Once settled, candidates that have not started are
+     * skipped and running lookups are cancelled; their results are discarded.
+     */
+    private static final class Race {
+        private final List<Candidate> candidates;
+        private final Duration hedgeDelay;
+        private final List<CompletableFuture<FetchResult>> attempts = new ArrayList<>();
+        private final CompletableFuture<FetchResult> result = new CompletableFuture<>();
 
-        // Try to parse the URL
-        ParsedModUrl parsedUrl;
-        try {
-            parsedUrl = provider.parse(url);
-        } catch (InvalidModUrlException e) {
-            return fetchFromProviders(url, providers, missingApiKeys, index + 1);
+        private Race(List<Candidate> candidates, Duration hedgeDelay) {
+            this.candidates = candidates;
+            this.hedgeDelay = hedgeDelay;
         }
 
-        // Check if we have the required API key
-        String source = provider.getSource();
-        String apiKey = modSync.getConfigStorage().getConfig().getApiKey(source);
-
-        if (provider.requiresApiKey() && (apiKey == null || apiKey.isBlank())) {
-            missingApiKeys.add(provider.getDisplayName());
-            return fetchFromProviders(url, providers, missingApiKeys, index + 1);
+        CompletableFuture<FetchResult> run() {
+            if (candidates.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            boolean parallel = hedgeDelay != null && hedgeDelay.isZero();
+            boolean started = startNext();
+            while (parallel && started) {
+                started = startNext();
+            }
+            return result;
         }
 
-        // Need either modId or slug to fetch
-        if (!parsedUrl.hasModId() && parsedUrl.slug() == null) {
-            return fetchFromProviders(url, providers, missingApiKeys, index + 1);
+        private synchronized boolean startNext() {
+            if (result.isDone() || attempts.size() >= candidates.size()) {
+                return false;
+            }
+            int index = attempts.size();
+            CompletableFuture<FetchResult> attempt = candidates.get(index).fetch();
+            attempts.add(attempt);
+            attempt.whenComplete((fetched, ex) -> {
+                if (ex != null || fetched == null) {
+                    startNext();
+                }
+                settle();
+            });
+
+            if (hedgeDelay != null && !hedgeDelay.isZero()) {
+                CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> hedge(index));
+            }
+            return true;
         }
 
-        // Fetch the mod entry
-        CompletableFuture<ModEntry> fetchFuture = parsedUrl.hasModId()
-                ? provider.fetchMod(apiKey, parsedUrl.modId())
-                : provider.fetchModBySlug(apiKey, parsedUrl.slug());
+        private synchronized void hedge(int index) {
+            // Only if nothing else started the next candidate in the meantime
+            if (attempts.size() == index + 1) {
+                startNext();
+            }
+        }
 
-        return fetchFuture
-                .handle((result, ex) -> {
-                    if (ex == null && result != null) {
-                        return CompletableFuture.completedFuture(new FetchResult(provider, parsedUrl, result));
+        private void settle() {
+            FetchResult winner = null;
+            List<CompletableFuture<FetchResult>> losers;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                for (CompletableFuture<FetchResult> attempt : attempts) {
+                    if (!attempt.isDone()) {
+                        // A higher-priority candidate is still running
+                        return;
                     }
-                    // Try next provider on failure
-                    return fetchFromProviders(url, providers, missingApiKeys, index + 1);
-                })
-                .thenCompose(future -> future);
+                    FetchResult fetched = attempt.isCompletedExceptionally() ? null : attempt.join();
+                    if (fetched != null) {
+                        winner = fetched;
+                        break;
+                    }
+                }
+                if (winner == null && attempts.size() < candidates.size()) {
+                    // Everything started so far failed; the next candidate is on its way
+                    return;
+                }
+                losers = List.copyOf(attempts);
+            }
+
+            result.complete(winner);
+            losers.forEach(attempt -> attempt.cancel(true));
+        }
     }
 }
@@ -0,0 +1,24 @@
+package de.onyxmoon.modsync.service;
+
+/**
+ * How {@link ProviderFetchService} queries the providers that can resolve a mod URL.
+ * <p>
+ * In every mode the result of the highest-priority provider that finds the mod wins;
+ * the modes only differ in when lower-priority providers are asked.
+ */
+public enum ProviderResolutionMode {
+    /**
+     * Ask one provider at a time, the next one only after the previous failed
+     */
+    SEQUENTIAL,
+
+    /**
+     * Ask all providers at once
+     */
+    PARALLEL,
+
+    /**
+     * Ask the next provider when the previous failed or has not answered within the hedge delay
+     */
+    HEDGED
+}
@@ -4,6 +4,8 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.provider.http.HttpResponseCache;
+import de.onyxmoon.modsync.provider.http.JsonBodyHandler;
 import de.onyxmoon.modsync.service.selfupgrade.model.GitHubApiException;
 import de.onyxmoon.modsync.service.selfupgrade.model.GitHubRelease;
 import de.onyxmoon.modsync.storage.InstantTypeAdapter;
@@ -11,7 +13,6 @@ import de.onyxmoon.modsync.storage.InstantTypeAdapter;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
@@ -65,13 +66,16 @@ public class GitHubClient {
                 .uri(URI.create(url))
                 .header("Accept", "application/vnd.github+json")
                 .header("User-Agent", "ModSync-Plugin")
+                .header("Accept-Encoding", JsonBodyHandler.ACCEPT_ENCODING)
                 .GET()
                 .build();
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
+        // Conditional request: a 304 answer does not count against GitHub's rate limit
+        return HttpResponseCache.shared()
+                .sendAsync(request, null, new JsonBodyHandler<>(gson, GitHubRelease.class), httpClient::sendAsync)
+                .thenApplyAsync(response -> {
                     if (response.statusCode() == 200) {
-                        GitHubRelease release = gson.fromJson(response.body(), GitHubRelease.class);
+                        GitHubRelease release = response.body().get();
                         // Cache the result
                         cachedRelease = release;
                         cacheExpiry = Instant.now().plus(CACHE_DURATION);
@@ -86,7 +90,7 @@ public class GitHubClient {
                         throw new GitHubApiException("GitHub API error: " + response.statusCode(),
                                 response.statusCode());
                     }
-                });
+                }, JsonBodyHandler.DECODE_EXECUTOR);
     }
 
     /**
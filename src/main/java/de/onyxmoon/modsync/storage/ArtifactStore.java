@@ -0,0 +1,413 @@
+package de.onyxmoon.modsync.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.storage.model.StoredArtifact;
+import de.onyxmoon.modsync.util.AtomicFileWriter;
+import de.onyxmoon.modsync.util.FileHashUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of downloaded mod files, shareable between server instances.
+ * <p>
+ * Each file is kept once under its SHA-256 hash in {@code objects/}; {@code index.json}
+ * maps provider file IDs to those objects. Installing a stored file hardlinks it into
+ * place, or copies it where hardlinks are not possible (e.g. across file systems), and
+ * verifies its hash, so no network access is needed. The store is bounded in size and
+ * evicts the least recently used files first.
+ * <p>
+ * Several server instances may point at the same store. Every index change and hardlink
+ * happens while holding an exclusive lock on {@code store.lock}, so instances never see
+ * each other's half-written state or evict a file that is being linked. Copies are made
+ * outside the lock, so a slow copy never blocks other instances; the hash check after
+ * the copy catches an object that was evicted meanwhile.
+ */
+public class ArtifactStore {
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final String INDEX_FILE = "index.json";
+    private static final String LOCK_FILE = "store.lock";
+    private static final Pattern SHA256 = Pattern.compile("sha256:([0-9a-f]{64})");
+    private static final Duration STALE_TEMP_AGE = Duration.ofDays(1);
+
+    private final Path root;
+    private final Path objectsFolder;
+    private final Path tempFolder;
+    private final LongSupplier maxBytes;
+    private final Gson gson;
+
+    /**
+     * File locks are held per JVM, so threads of this instance also take turns here.
+     */
+    private final ReentrantLock threadLock = new ReentrantLock();
+
+    /**
+     * @param root     the store folder
+     * @param maxBytes supplies the maximum total size of stored files; 0 disables the store
+     */
+    public ArtifactStore(Path root, LongSupplier maxBytes) {
+        this.root = root;
+        this.objectsFolder = root.resolve("objects");
+        this.tempFolder = root.resolve("tmp");
+        this.maxBytes = maxBytes;
+        this.gson = new GsonBuilder()
+                .setPrettyPrinting()
+                .create();
+    }
+
+    /**
+     * @return whether files are stored and installed from the store
+     */
+    public boolean isEnabled() {
+        return maxBytes.getAsLong() > 0;
+    }
+
+    /**
+     * Installs a stored file, if present.
+     *
+     * @param source the provider source identifier
+     * @param fileId the provider's ID of the file
+     * @param target where to place the file; replaced if it exists
+     * @return the stored artifact, or empty if the file is not stored or did not verify
+     * @throws IOException if the store cannot be read or the file cannot be placed
+     */
+    public Optional<StoredArtifact> install(String source, String fileId, Path target) throws IOException {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        StoredArtifact artifact;
+        Path object;
+        boolean linked;
+        try (StoreLock ignored = lock()) {
+            Map<String, StoredArtifact> index = readIndex();
+            String key = key(source, fileId);
+            artifact = index.get(key);
+            if (artifact == null) {
+                return Optional.empty();
+            }
+            object = objectPath(artifact.getSha256());
+            if (object == null || !Files.isRegularFile(object) || Files.size(object) != artifact.getSize()) {
+                index.remove(key);
+                writeIndex(index);
+                return Optional.empty();
+            }
+            linked = tryLink(object, target);
+            artifact.setLastUsed(System.currentTimeMillis());
+            writeIndex(index);
+        }
+
+        if (!linked) {
+            try {
+                Files.copy(object, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (NoSuchFileException e) {
+                // Evicted by another instance since the lock was released
+                Files.deleteIfExists(target);
+                return Optional.empty();
+            }
+        }
+
+        // Our own link or copy now, so this needs no lock
+        if (Files.size(target) != artifact.getSize()) {
+            Files.deleteIfExists(target);
+            return Optional.empty();
+        }
+        String actualHash = FileHashUtils.calculateSha256(target);
+        if (!actualHash.equals(artifact.getSha256())) {
+            LOGGER.atWarning().log("Stored file %s is corrupted, removing it from the artifact store",
+                    artifact.getSha256());
+            Files.deleteIfExists(target);
+            remove(artifact.getSha256());
+            return Optional.empty();
+        }
+        return Optional.of(artifact);
+    }
+
+    /**
+     * Adds a file to the store, evicting the least recently used files if the store grows too large.
+     *
+     * @param source   the provider source identifier
+     * @param fileId   the provider's ID of the file
+     * @param file     the installed file; hardlinked or copied, never moved
+     * @param sha256   the file hash in format "sha256:hexstring"
+     * @param size     the file size in bytes
+     * @param fileName the file name to install the file under
+     * @throws IOException if the file cannot be stored
+     */
+    public void put(String source, String fileId, Path file, String sha256, long size, String fileName)
+            throws IOException {
+        long max = maxBytes.getAsLong();
+        Path object = objectPath(sha256);
+        if (max <= 0 || size > max || object == null) {
+            return;
+        }
+
+        // Copy outside the lock; a copy can take a while and other instances only need the lock for the rename
+        Path temp = null;
+        if (!Files.exists(object)) {
+            Files.createDirectories(tempFolder);
+            temp = tempFolder.resolve(UUID.randomUUID() + ".tmp");
+            linkOrCopy(file, temp);
+        }
+
+        try (StoreLock ignored = lock()) {
+            if (!Files.exists(object)) {
+                if (temp == null) {
+                    // Evicted by another instance since the check above; stored again on the next download
+                    LOGGER.atFine().log("%s was evicted from the artifact store while storing it", sha256);
+                    return;
+                }
+                Files.createDirectories(object.getParent());
+                moveAtomically(temp, object);
+            }
+
+            Map<String, StoredArtifact> index = readIndex();
+            index.put(key(source, fileId), new StoredArtifact(sha256, size, fileName, System.currentTimeMillis()));
+            evict(index, max);
+            writeIndex(index);
+            deleteOrphans(index);
+            deleteStaleTemps();
+        } finally {
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void remove(String sha256) throws IOException {
+        try (StoreLock ignored = lock()) {
+            Map<String, StoredArtifact> index = readIndex();
+            index.values().removeIf(artifact -> sha256.equals(artifact.getSha256()));
+            writeIndex(index);
+            Path object = objectPath(sha256);
+            if (object != null) {
+                Files.deleteIfExists(object);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used objects until the store fits the size limit.
+     * Must be called with the lock held.
+     */
+    private void evict(Map<String, StoredArtifact> index, long max) {
+        // Objects shared by several entries are as recent as their most recently used entry
+        Map<String, StoredArtifact> newestPerObject = new HashMap<>();
+        for (StoredArtifact artifact : index.values()) {
+            newestPerObject.merge(artifact.getSha256(), artifact,
+                    (a, b) -> a.getLastUsed() >= b.getLastUsed() ? a : b);
+        }
+        long total = newestPerObject.values().stream().mapToLong(StoredArtifact::getSize).sum();
+        if (total <= max) {
+            return;
+        }
+
+        List<StoredArtifact> byAge = new ArrayList<>(newestPerObject.values());
+        byAge.sort(Comparator.comparingLong(StoredArtifact::getLastUsed));
+        for (StoredArtifact artifact : byAge) {
+            if (total <= max) {
+                break;
+            }
+            Path object = objectPath(artifact.getSha256());
+            try {
+                if (object != null) {
+                    Files.deleteIfExists(object);
+                }
+            } catch (IOException e) {
+                // E.g. locked on Windows while a hardlinked copy is loaded - try again next time
+                LOGGER.atFine().log("Could not evict %s from the artifact store: %s", object, e.getMessage());
+                continue;
+            }
+            index.values().removeIf(entry -> artifact.getSha256().equals(entry.getSha256()));
+            total -= artifact.getSize();
+            LOGGER.atFine().log("Evicted %s from the artifact store", artifact.getSha256());
+        }
+    }
+
+    /**
+     * Deletes objects no index entry refers to, e.g. after an entry was pointed at a new
+     * file or the index could not be read. They are not counted by {@link #evict}, so
+     * they would otherwise grow the store past its limit.
+     * Must be called with the lock held.
+     */
+    private void deleteOrphans(Map<String, StoredArtifact> index) {
+        Set<Path> referenced = new HashSet<>();
+        for (StoredArtifact artifact : index.values()) {
+            referenced.add(objectPath(artifact.getSha256()));
+        }
+        try (Stream<Path> objects = Files.walk(objectsFolder, 2)) {
+            for (Path object : (Iterable<Path>) objects::iterator) {
+                if (!Files.isRegularFile(object) || referenced.contains(object)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(object);
+                    LOGGER.atFine().log("Deleted unreferenced %s from the artifact store", object.getFileName());
+                } catch (IOException e) {
+                    // E.g. locked on Windows while a hardlinked copy is loaded - try again next time
+                    LOGGER.atFine().log("Could not delete %s from the artifact store: %s", object, e.getMessage());
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.atFine().log("Could not clean up artifact store objects: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes temp files left behind by instances that crashed while copying.
+     * Must be called with the lock held.
+     */
+    private void deleteStaleTemps() {
+        long cutoff = System.currentTimeMillis() - STALE_TEMP_AGE.toMillis();
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(tempFolder, "*.tmp")) {
+            for (Path temp : temps) {
+                if (Files.getLastModifiedTime(temp).toMillis() < cutoff) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.atFine().log("Could not clean up artifact store temp files: %s", e.getMessage());
+        }
+    }
+
+    private Map<String, StoredArtifact> readIndex() {
+        Path indexPath = root.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return new HashMap<>();
+        }
+        try {
+            Map<String, StoredArtifact> index = gson.fromJson(Files.readString(indexPath),
+                    new TypeToken<HashMap<String, StoredArtifact>>() {
+                    }.getType());
+            if (index == null) {
+                return new HashMap<>();
+            }
+            index.values().removeIf(artifact -> artifact == null || objectPath(artifact.getSha256()) == null);
+            return index;
+        } catch (Exception e) {
+            // The index only saves downloads - start over rather than fail
+            LOGGER.atWarning().log("Failed to read artifact store index, rebuilding: %s", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void writeIndex(Map<String, StoredArtifact> index) throws IOException {
+        AtomicFileWriter.writeString(root.resolve(INDEX_FILE), gson.toJson(index));
+    }
+
+    private StoreLock lock() throws IOException {
+        threadLock.lock();
+        try {
+            Files.createDirectories(root);
+            FileChannel channel = FileChannel.open(root.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                return new StoreLock(channel, channel.lock());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            threadLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the object file for a hash, or null if the hash is malformed
+     */
+    private Path objectPath(String sha256) {
+        if (sha256 == null) {
+            return null;
+        }
+        Matcher matcher = SHA256.matcher(sha256);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String hex = matcher.group(1);
+        return objectsFolder.resolve(hex.substring(0, 2)).resolve(hex);
+    }
+
+    private static String key(String source, String fileId) {
+        return source + "/" + fileId;
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        if (!tryLink(source, target)) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return whether the target was created as a hardlink to the source
+     */
+    private static boolean tryLink(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file system, or links not supported
+            return false;
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Holds the store lock until closed.
+     */
+    private final class StoreLock implements AutoCloseable {
+        private final FileChannel channel;
+        private final FileLock fileLock;
+
+        private StoreLock(FileChannel channel, FileLock fileLock) {
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+                channel.close();
+            } finally {
+                threadLock.unlock();
+            }
+        }
+    }
+}
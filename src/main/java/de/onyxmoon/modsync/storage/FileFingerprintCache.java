@@ -0,0 +1,171 @@
+package de.onyxmoon.modsync.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.common.plugin.PluginIdentifier;
+import com.hypixel.hytale.common.plugin.PluginManifest;
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.onyxmoon.modsync.ModSync;
+import de.onyxmoon.modsync.storage.model.FileFingerprint;
+import de.onyxmoon.modsync.util.AtomicFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent index of plugin file fingerprints (file_fingerprints.json).
+ * <p>
+ * Maps a file's path, size, modification time and file key to its SHA-256 hash and
+ * manifest data, so rescanning unchanged files only costs a {@code stat} call instead
+ * of re-reading and re-parsing the whole archive.
+ */
+public class FileFingerprintCache {
+    private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
+    private static final String FILE_NAME = "file_fingerprints.json";
+
+    private final Path cachePath;
+    private final Gson gson;
+
+    /**
+     * Entries keyed by normalized absolute file path.
+     * Thread-safe so files can be fingerprinted concurrently.
+     */
+    private final Map<String, FileFingerprint> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public FileFingerprintCache(Path dataFolder) {
+        this.cachePath = dataFolder.resolve(FILE_NAME);
+        this.gson = new GsonBuilder()
+                .setPrettyPrinting()
+                .create();
+        load();
+    }
+
+    /**
+     * Looks up a still-valid fingerprint for the given file.
+     *
+     * @param file  the file
+     * @param attrs the file's current attributes
+     * @return the fingerprint, or empty if unknown or the file has changed since
+     */
+    public Optional<FileFingerprint> lookup(Path file, BasicFileAttributes attrs) {
+        FileFingerprint fingerprint = entries.get(key(file));
+        if (fingerprint == null
+                || !fingerprint.matches(attrs.size(), attrs.lastModifiedTime().toMillis(), fileKey(attrs))) {
+            return Optional.empty();
+        }
+        return Optional.of(fingerprint);
+    }
+
+    /**
+     * Records the fingerprint of a file.
+     *
+     * @param file     the file
+     * @param attrs    the file's attributes at the time it was read
+     * @param sha256   the file hash ("sha256:hexstring")
+     * @param manifest the file's manifest, or null if it has none
+     * @return the recorded fingerprint
+     */
+    public FileFingerprint record(Path file, BasicFileAttributes attrs, String sha256, PluginManifest manifest) {
+        String key = key(file);
+        PluginIdentifier identifier = manifest != null
+                ? new PluginIdentifier(manifest.getGroup(), manifest.getName())
+                : null;
+        String manifestVersion = manifest != null && manifest.getVersion() != null
+                ? manifest.getVersion().toString()
+                : null;
+        FileFingerprint fingerprint = new FileFingerprint(
+                key,
+                attrs.size(),
+                attrs.lastModifiedTime().toMillis(),
+                fileKey(attrs),
+                sha256,
+                identifier,
+                manifestVersion
+        );
+        entries.put(key, fingerprint);
+        dirty = true;
+        return fingerprint;
+    }
+
+    /**
+     * Drops entries for files inside {@code folder} that were not seen during the last scan.
+     *
+     * @param folder    the scanned folder
+     * @param seenFiles the files that still exist in the folder
+     */
+    public void retainOnly(Path folder, Set<Path> seenFiles) {
+        String folderKey = key(folder);
+        Set<String> seenKeys = new HashSet<>();
+        seenFiles.forEach(file -> seenKeys.add(key(file)));
+
+        boolean removed = entries.keySet().removeIf(entryKey -> {
+            Path parent = Path.of(entryKey).getParent();
+            return parent != null && parent.toString().equals(folderKey) && !seenKeys.contains(entryKey);
+        });
+        if (removed) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the index to disk if it changed since the last save.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        // Cleared before the snapshot, so changes made while writing are saved next time
+        dirty = false;
+        try {
+            Files.createDirectories(cachePath.getParent());
+            List<FileFingerprint> snapshot = List.copyOf(entries.values());
+            AtomicFileWriter.writeString(cachePath, gson.toJson(snapshot));
+            LOGGER.atFine().log("Saved %d file fingerprints", snapshot.size());
+        } catch (IOException e) {
+            dirty = true;
+            LOGGER.atWarning().log("Failed to save file fingerprints: %s", e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(cachePath)) {
+            return;
+        }
+        try {
+            String json = Files.readString(cachePath);
+            List<FileFingerprint> loaded = gson.fromJson(json, new TypeToken<List<FileFingerprint>>() {
+            }.getType());
+            if (loaded != null) {
+                for (FileFingerprint fingerprint : loaded) {
+                    if (fingerprint != null && fingerprint.getPath() != null) {
+                        entries.put(fingerprint.getPath(), fingerprint);
+                    }
+                }
+            }
+            LOGGER.atFine().log("Loaded %d file fingerprints", entries.size());
+        } catch (Exception e) {
+            // The index is only a cache - start over rather than fail
+            LOGGER.atWarning().log("Failed to load file fingerprints, rebuilding: %s", e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private static String fileKey(BasicFileAttributes attrs) {
+        Object fileKey = attrs.fileKey();
+        return fileKey != null ? fileKey.toString() : null;
+    }
+}
@@ -2,39 +2,93 @@ package de.onyxmoon.modsync.storage;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
 import de.onyxmoon.modsync.api.model.provider.ModList;
+import de.onyxmoon.modsync.storage.model.ModListMetadata;
 import de.onyxmoon.modsync.storage.model.StoredModList;
+import de.onyxmoon.modsync.util.AtomicFileWriter;
+import de.onyxmoon.modsync.util.FileHashUtils;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Optional;
 
 /**
  * JSON-based storage for mod lists.
+ * <p>
+ * Next to modlist.json a small metadata sidecar (modlist.meta.json) is kept, so status
+ * queries can be answered without reading the full list. The sidecar records the size,
+ * modification time and file key of the modlist.json it describes and is trusted as
+ * long as they match. Loaded lists are memoized and only parsed again when those
+ * attributes change; edits made while the server runs are picked up on the next call.
  */
 public class JsonModListStorage {
     private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
     private final Path modListPath;
+    private final Path metadataPath;
     private final Gson gson;
 
+    /**
+     * Cheap-to-read attributes of modlist.json that change whenever the file does.
+     */
+    private record FileStamp(long size, long lastModified, String fileKey) {
+        static FileStamp read(Path file) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            Object fileKey = attrs.fileKey();
+            return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis(),
+                    fileKey != null ? fileKey.toString() : null);
+        }
+
+        static FileStamp of(ModListMetadata metadata) {
+            return new FileStamp(metadata.getFileSize(), metadata.getFileModifiedAt(), metadata.getFileKey());
+        }
+    }
+
+    /**
+     * What is known about modlist.json as of the given stamp.
+     *
+     * @param modList the parsed list, or null if only the metadata was needed so far
+     */
+    private record CachedModList(FileStamp stamp, String contentHash, ModListMetadata metadata, ModList modList) {
+    }
+
+    private volatile CachedModList cached;
+
     public JsonModListStorage(Path dataFolder) {
         this.modListPath = dataFolder.resolve("modlist.json");
+        this.metadataPath = dataFolder.resolve("modlist.meta.json");
         this.gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
                 .create();
     }
 
-    public void save(ModList modList) {
+    public synchronized void save(ModList modList) {
         try {
             Files.createDirectories(modListPath.getParent());
             StoredModList stored = new StoredModList(modList, Instant.now());
-            String json = gson.toJson(stored);
-            Files.writeString(modListPath, json);
+            // Stream straight to disk instead of rendering the whole list to a String first
+            String contentHash = AtomicFileWriter.writeHashed(modListPath, out -> {
+                JsonWriter writer = gson.newJsonWriter(out);
+                gson.toJson(stored, StoredModList.class, writer);
+                writer.flush();
+            });
+            FileStamp stamp = FileStamp.read(modListPath);
+            ModListMetadata metadata = writeMetadata(stored, contentHash, stamp);
+            cached = new CachedModList(stamp, contentHash, metadata, modList);
             LOGGER.atInfo().log("Mod list saved successfully (%d mods)", modList.getMods().size());
         } catch (IOException e) {
             LOGGER.atSevere().withCause(e).log("Failed to save mod list");
@@ -42,36 +96,129 @@ public class JsonModListStorage {
         }
     }
 
-    public Optional<ModList> load() {
+    public synchronized Optional<ModList> load() {
         if (!Files.exists(modListPath)) {
             LOGGER.atSevere().log("Mod list file not found");
             return Optional.empty();
         }
 
+        FileStamp stamp;
         try {
-            String json = Files.readString(modListPath);
-            StoredModList stored = gson.fromJson(json, StoredModList.class);
-            LOGGER.atInfo().log("Mod list loaded successfully (%d mods)",
-                       stored.getModList().getMods().size());
-            return Optional.of(stored.getModList());
+            // Taken before reading, so a change while parsing is picked up next time
+            stamp = FileStamp.read(modListPath);
         } catch (IOException e) {
             LOGGER.atSevere().withCause(e).log("Failed to load mod list");
             return Optional.empty();
         }
+        CachedModList current = cached;
+        if (current != null && current.modList() != null && current.stamp().equals(stamp)) {
+            return Optional.of(current.modList());
+        }
+
+        MessageDigest digest = FileHashUtils.newSha256Digest();
+        StoredModList stored;
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(modListPath), digest);
+             Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            stored = gson.fromJson(reader, StoredModList.class);
+            // Hash any trailing bytes the parser did not need
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException | JsonParseException e) {
+            LOGGER.atSevere().withCause(e).log("Failed to load mod list");
+            return Optional.empty();
+        }
+        if (stored == null || stored.getModList() == null) {
+            LOGGER.atSevere().log("Mod list file is empty");
+            return Optional.empty();
+        }
+
+        String contentHash = FileHashUtils.formatSha256(digest);
+        ModListMetadata metadata = readMetadata()
+                .filter(existing -> contentHash.equals(existing.getContentHash())
+                        && FileStamp.of(existing).equals(stamp))
+                .orElse(null);
+        if (metadata == null) {
+            // Written by an older version, or modlist.json was changed (or copied) outside of ModSync
+            LOGGER.atFine().log("Rebuilding mod list metadata");
+            try {
+                metadata = writeMetadata(stored, contentHash, stamp);
+            } catch (IOException e) {
+                LOGGER.atWarning().withCause(e).log("Failed to write mod list metadata");
+                metadata = toMetadata(stored, contentHash, stamp);
+            }
+        }
+        cached = new CachedModList(stamp, contentHash, metadata, stored.getModList());
+        LOGGER.atInfo().log("Mod list loaded successfully (%d mods)",
+                   stored.getModList().getMods().size());
+        return Optional.of(stored.getModList());
     }
 
-    public Optional<Instant> getLastUpdateTime() {
+    /**
+     * Returns the metadata of the stored mod list without reading the list itself.
+     * The sidecar is only trusted if the size, modification time and file key it records
+     * match modlist.json; if it is missing or stale (lists saved by older versions, or
+     * edited by hand) the list is loaded and hashed once to rebuild it.
+     *
+     * @return the metadata, or empty if no mod list is stored
+     */
+    public synchronized Optional<ModListMetadata> getMetadata() {
         if (!Files.exists(modListPath)) {
             return Optional.empty();
         }
-
         try {
-            String json = Files.readString(modListPath);
-            StoredModList stored = gson.fromJson(json, StoredModList.class);
-            return Optional.of(stored.getStoredAt());
+            FileStamp stamp = FileStamp.read(modListPath);
+            CachedModList current = cached;
+            if (current != null && current.stamp().equals(stamp)) {
+                return Optional.of(current.metadata());
+            }
+
+            Optional<ModListMetadata> metadata = readMetadata()
+                    .filter(existing -> FileStamp.of(existing).equals(stamp));
+            if (metadata.isPresent()) {
+                cached = new CachedModList(stamp, metadata.get().getContentHash(), metadata.get(), null);
+                return metadata;
+            }
         } catch (IOException e) {
-            LOGGER.atSevere().withCause(e).log("Failed to read last update time");
+            LOGGER.atWarning().withCause(e).log("Failed to check mod list metadata");
+        }
+        return load().map(modList -> cached.metadata());
+    }
+
+    public Optional<Instant> getLastUpdateTime() {
+        return getMetadata().map(ModListMetadata::getStoredAt);
+    }
+
+    private Optional<ModListMetadata> readMetadata() {
+        if (!Files.exists(metadataPath)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(metadataPath, StandardCharsets.UTF_8)) {
+            return Optional.ofNullable(gson.fromJson(reader, ModListMetadata.class))
+                    .filter(metadata -> metadata.getContentHash() != null);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.atWarning().withCause(e).log("Failed to read mod list metadata");
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    private ModListMetadata writeMetadata(StoredModList stored, String contentHash, FileStamp stamp)
+            throws IOException {
+        ModListMetadata metadata = toMetadata(stored, contentHash, stamp);
+        AtomicFileWriter.writeString(metadataPath, gson.toJson(metadata));
+        return metadata;
+    }
+
+    private static ModListMetadata toMetadata(StoredModList stored, String contentHash, FileStamp stamp) {
+        ModList modList = stored.getModList();
+        return new ModListMetadata(
+                stored.getStoredAt(),
+                modList.getSource(),
+                modList.getProjectId(),
+                modList.getProjectName(),
+                modList.getMods().size(),
+                contentHash,
+                stamp.size(),
+                stamp.lastModified(),
+                stamp.fileKey()
+        );
+    }
+}
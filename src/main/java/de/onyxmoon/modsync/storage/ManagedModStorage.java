@@ -2,6 +2,11 @@ package de.onyxmoon.modsync.storage;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.hypixel.hytale.common.plugin.PluginIdentifier;
 import com.hypixel.hytale.logger.HytaleLogger;
 import de.onyxmoon.modsync.ModSync;
@@ -9,17 +14,28 @@ import de.onyxmoon.modsync.api.PluginType;
 import de.onyxmoon.modsync.api.model.InstalledState;
 import de.onyxmoon.modsync.api.model.ManagedMod;
 import de.onyxmoon.modsync.api.model.ManagedModRegistry;
-import de.onyxmoon.modsync.storage.model.LockFile;
+import de.onyxmoon.modsync.storage.model.LockJournalRecord;
 import de.onyxmoon.modsync.storage.model.ModListFile;
+import de.onyxmoon.modsync.util.AtomicFileWriter;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Unified storage for managed mods using two files:
@@ -28,6 +44,12 @@ import java.util.Optional;
  *   <li><b>mods.lock.json</b> - Installation state (what is installed). Machine-specific.</li>
  * </ul>
  *
+ * Changes to the installation state are appended to <b>mods.lock.journal</b> (one JSON
+ * record per line) instead of rewriting mods.lock.json. The journal is replayed on load
+ * and folded into a new mods.lock.json snapshot once it grows past
+ * {@link #LOCK_JOURNAL_COMPACT_BYTES}. mods.json is only rewritten when the mod list
+ * itself changed.
+ *
  * Includes migration logic to convert old format files on first load.
  */
 public class ManagedModStorage {
@@ -36,11 +58,25 @@ public class ManagedModStorage {
     /** Schema version for mods.json and mods.lock.json files */
     public static final int SCHEMA_VERSION = 1;
 
+    /** Quiet period before changes are written, so bursts of mutations share one write */
+    private static final long WRITE_DEBOUNCE_MILLIS = 100;
+    /** Upper bound for deferring a write during a continuous burst */
+    private static final long WRITE_MAX_DELAY_MILLIS = 1000;
+    /** How long shutdown waits for the final write */
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_SECONDS = 10;
+    /** Journal size after which it is compacted into a new mods.lock.json snapshot */
+    private static final long LOCK_JOURNAL_COMPACT_BYTES = 256 * 1024;
+
     private final Path modsJsonPath;
     private final Path modsLockPath;
+    private final Path lockJournalPath;
     private final Path oldManagedModsPath;
     private final Path oldInstalledModsPath;
     private final Gson gson;
+    /** Compact (single-line) Gson for journal records */
+    private final Gson journalGson;
+    private final TypeAdapter<Instant> instantAdapter;
+    private final TypeAdapter<InstalledState> installedStateAdapter;
 
     /**
      * The current registry. Marked volatile to ensure visibility
@@ -48,89 +84,356 @@ public class ManagedModStorage {
      */
     private volatile ManagedModRegistry registry;
 
+    /** Serializes read-modify-write cycles on the registry */
+    private final Object mutationLock = new Object();
+
+    /** Writes the registry on a dedicated thread, off the callers' threads */
+    private final WriteBehindPersister persister;
+
+    /** Guards the persisted-state fields below */
+    private final Object persistLock = new Object();
+    /** Mod list as last written to mods.json, or null if unknown */
+    private ModListState persistedModList;
+    /** Installation state as last persisted (snapshot + journal), or null if unknown */
+    private Map<String, InstalledState> persistedInstallations;
+    /** Current size of mods.lock.journal in bytes */
+    private long journalBytes;
+
+    /**
+     * The content of mods.json that matters for deciding whether it must be rewritten.
+     */
+    private record ModListState(String name, Instant createdAt, List<ModListFile.ModListEntry> entries) {
+    }
+
     public ManagedModStorage(Path dataFolder) {
         this.modsJsonPath = dataFolder.resolve("mods.json");
         this.modsLockPath = dataFolder.resolve("mods.lock.json");
+        this.lockJournalPath = dataFolder.resolve("mods.lock.journal");
         this.oldManagedModsPath = dataFolder.resolve("managed_mods.json");
         this.oldInstalledModsPath = dataFolder.resolve("installed_mods.json");
         this.gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+                .registerTypeAdapterFactory(new StorageTypeAdapterFactory())
                 .create();
+        this.journalGson = new GsonBuilder()
+                .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+                .registerTypeAdapterFactory(new StorageTypeAdapterFactory())
+                .create();
+        this.instantAdapter = gson.getAdapter(Instant.class);
+        this.installedStateAdapter = gson.getAdapter(InstalledState.class);
+        this.persister = new WriteBehindPersister("ModSync-ModStorage",
+                WRITE_DEBOUNCE_MILLIS, WRITE_MAX_DELAY_MILLIS, this::writeCurrent);
         this.registry = load().orElse(ManagedModRegistry.empty());
     }
 
     /**
      * Save the current registry to disk (both mods.json and mods.lock.json).
+     * Blocks until the write has finished.
      */
     public void save() {
-        save(registry);
+        flush().join();
     }
 
     /**
      * Save the given registry to disk.
+     * Blocks until the write has finished.
      */
     public void save(ManagedModRegistry registry) {
-        this.registry = registry;
-        try {
-            Files.createDirectories(modsJsonPath.getParent());
-
-            // Build mods.json entries
-            List<ModListFile.ModListEntry> entries = registry.getAll().stream()
-                    .map(mod -> new ModListFile.ModListEntry(
-                            mod.getModId(),
-                            mod.getName(),
-                            mod.getSlug(),
-                            mod.getSource(),
-                            mod.getPluginType(),
-                            mod.getDesiredVersionId(),
-                            mod.getAddedAt(),
-                            mod.getAddedViaUrl(),
-                            mod.getReleaseChannelOverride()
-                    ))
-                    .toList();
-
-            // Build mods.json (immutable, using all-args constructor)
-            ModListFile modListFile = new ModListFile(
-                    SCHEMA_VERSION,
-                    registry.getName(),
-                    registry.getCreatedAt(),
-                    registry.getLastModifiedAt(),
-                    entries
-            );
-
-            // Build mods.lock.json installations
-            Map<String, LockFile.LockedInstallation> installations = new HashMap<>();
-            for (ManagedMod mod : registry.getAll()) {
-                if (mod.isInstalled()) {
-                    InstalledState state = mod.getInstalledState().orElseThrow();
-                    installations.put(mod.getSourceId(), new LockFile.LockedInstallation(
-                            state.getIdentifier(),
-                            state.getInstalledVersionId(),
-                            state.getInstalledVersionNumber(),
-                            state.getFilePath(),
-                            state.getFileName(),
-                            state.getFileSize(),
-                            state.getFileHash(),
-                            state.getInstalledAt(),
-                            state.getLastChecked()
-                    ));
-                }
+        synchronized (mutationLock) {
+            this.registry = registry;
+        }
+        save();
+    }
+
+    /**
+     * Applies a batch of changes to the registry atomically.
+     * <p>
+     * The new registry is visible immediately. Writing it is left to the storage's
+     * writer thread, which debounces bursts of mutations (e.g. concurrent install
+     * completions) into a single write.
+     *
+     * @param mutation changes to apply to a builder of the current registry
+     * @return a future completed once the change has been written to disk
+     */
+    public CompletableFuture<Void> mutate(Consumer<ManagedModRegistry.Builder> mutation) {
+        synchronized (mutationLock) {
+            ManagedModRegistry.Builder builder = registry.toBuilder();
+            mutation.accept(builder);
+            this.registry = builder
+                    .lastModifiedAt(Instant.now())
+                    .build();
+        }
+        return persister.requestWrite();
+    }
+
+    /**
+     * Writes the current registry now, without waiting for the debounce period.
+     *
+     * @return a future completed once everything changed so far is on disk
+     */
+    public CompletableFuture<Void> flush() {
+        return persister.flush();
+    }
+
+    /**
+     * Flushes pending changes and stops the writer thread. Called on plugin shutdown.
+     */
+    public void shutdown() {
+        if (!persister.shutdown(SHUTDOWN_FLUSH_TIMEOUT_SECONDS)) {
+            LOGGER.atWarning().log("Could not write mods.json/mods.lock.json within %d seconds on shutdown",
+                    SHUTDOWN_FLUSH_TIMEOUT_SECONDS);
+        }
+    }
+
+    /**
+     * Writes the current registry. Runs on the writer thread, so reading the
+     * latest registry here never persists an older state over a newer one.
+     */
+    private void writeCurrent() {
+        ManagedModRegistry current = this.registry;
+        synchronized (persistLock) {
+            try {
+                Files.createDirectories(modsJsonPath.getParent());
+                writeModListIfChanged(current);
+                writeLockChanges(current);
+            } catch (IOException e) {
+                LOGGER.atSevere().withCause(e).log("Failed to save managed mods");
+                throw new RuntimeException("Failed to save managed mods", e);
             }
+        }
+    }
+
+    private void writeModListIfChanged(ManagedModRegistry registry) throws IOException {
+        ModListState state = modListState(registry);
+        if (state.equals(persistedModList)) {
+            return;
+        }
 
-            // Build mods.lock.json (immutable, using all-args constructor)
-            LockFile lockFile = new LockFile(SCHEMA_VERSION, Instant.now(), installations);
+        // Build mods.json (immutable, using all-args constructor)
+        ModListFile modListFile = new ModListFile(
+                SCHEMA_VERSION,
+                registry.getName(),
+                registry.getCreatedAt(),
+                registry.getLastModifiedAt(),
+                state.entries()
+        );
+        AtomicFileWriter.write(modsJsonPath, out -> {
+            JsonWriter writer = gson.newJsonWriter(out);
+            gson.toJson(modListFile, ModListFile.class, writer);
+            writer.flush();
+        });
+        persistedModList = state;
+
+        LOGGER.atInfo().log("Saved %d mods to mods.json", state.entries().size());
+    }
+
+    /**
+     * Persists installation state changes since the last write as journal records,
+     * or as a full snapshot if no previous state is known or the journal is too large.
+     */
+    private void writeLockChanges(ManagedModRegistry registry) throws IOException {
+        Map<String, InstalledState> current = installedStates(registry);
+        if (persistedInstallations == null) {
+            compactLock(current);
+            return;
+        }
 
-            // Write both files
-            Files.writeString(modsJsonPath, gson.toJson(modListFile));
-            Files.writeString(modsLockPath, gson.toJson(lockFile));
+        List<LockJournalRecord> records = diffInstallations(persistedInstallations, current);
+        if (records.isEmpty()) {
+            return;
+        }
 
-            LOGGER.atInfo().log("Saved %d mods to mods.json, %d installations to mods.lock.json",
-                    entries.size(), installations.size());
+        StringBuilder lines = new StringBuilder();
+        for (LockJournalRecord record : records) {
+            lines.append(journalGson.toJson(record)).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(lockJournalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
         } catch (IOException e) {
-            LOGGER.atSevere().withCause(e).log("Failed to save managed mods");
-            throw new RuntimeException("Failed to save managed mods", e);
+            // The journal may now end in a torn line that the next record would be appended to;
+            // write a full snapshot next time instead, which also discards the journal
+            persistedInstallations = null;
+            throw e;
+        }
+        journalBytes += bytes.length;
+        persistedInstallations = current;
+        LOGGER.atFine().log("Appended %d records to mods.lock.journal", records.size());
+
+        if (journalBytes > LOCK_JOURNAL_COMPACT_BYTES) {
+            compactLock(current);
+        }
+    }
+
+    /**
+     * Writes a full mods.lock.json snapshot and discards the journal.
+     * The snapshot is replaced atomically before the journal is deleted; if the server
+     * stops in between, replaying the old journal onto the new snapshot is harmless.
+     */
+    private void compactLock(Map<String, InstalledState> current) throws IOException {
+        // Stream mods.lock.json straight from the installed states
+        AtomicFileWriter.write(modsLockPath, out -> {
+            JsonWriter writer = gson.newJsonWriter(out);
+            writer.beginObject();
+            writer.name("version").value(SCHEMA_VERSION);
+            writer.name("lockedAt");
+            instantAdapter.write(writer, Instant.now());
+            writer.name("installations");
+            writer.beginObject();
+            for (Map.Entry<String, InstalledState> entry : current.entrySet()) {
+                writer.name(entry.getKey());
+                installedStateAdapter.write(writer, entry.getValue());
+            }
+            writer.endObject();
+            writer.endObject();
+            writer.flush();
+        });
+        Files.deleteIfExists(lockJournalPath);
+
+        journalBytes = 0;
+        persistedInstallations = current;
+        LOGGER.atInfo().log("Saved %d installations to mods.lock.json", current.size());
+    }
+
+    private static List<LockJournalRecord> diffInstallations(
+            Map<String, InstalledState> previous, Map<String, InstalledState> current) {
+        List<LockJournalRecord> records = new ArrayList<>();
+        Instant now = Instant.now();
+
+        current.forEach((sourceId, state) -> {
+            InstalledState old = previous.get(sourceId);
+            if (old == null) {
+                records.add(new LockJournalRecord(LockJournalRecord.Operation.INSTALL,
+                        sourceId, now, state, null));
+            } else if (!old.equals(state)) {
+                boolean onlyLastChecked = old.toBuilder().lastChecked(state.getLastChecked()).build().equals(state);
+                records.add(onlyLastChecked
+                        ? new LockJournalRecord(LockJournalRecord.Operation.TOUCH,
+                                sourceId, now, null, state.getLastChecked())
+                        : new LockJournalRecord(LockJournalRecord.Operation.UPGRADE,
+                                sourceId, now, state, null));
+            }
+        });
+        previous.keySet().stream()
+                .filter(sourceId -> !current.containsKey(sourceId))
+                .forEach(sourceId -> records.add(new LockJournalRecord(
+                        LockJournalRecord.Operation.REMOVE, sourceId, now, null, null)));
+
+        return records;
+    }
+
+    /**
+     * Streams the installations out of mods.lock.json.
+     */
+    private Map<String, InstalledState> readLockSnapshot() throws IOException {
+        Map<String, InstalledState> installations = new HashMap<>();
+        try (Reader reader = Files.newBufferedReader(modsLockPath, StandardCharsets.UTF_8)) {
+            JsonReader json = gson.newJsonReader(reader);
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!json.nextName().equals("installations") || json.peek() != JsonToken.BEGIN_OBJECT) {
+                    json.skipValue();
+                    continue;
+                }
+                json.beginObject();
+                while (json.hasNext()) {
+                    String sourceId = json.nextName();
+                    InstalledState state = installedStateAdapter.read(json);
+                    if (state != null) {
+                        installations.put(sourceId, state);
+                    }
+                }
+                json.endObject();
+            }
+            json.endObject();
+        }
+        return installations;
+    }
+
+    /**
+     * Applies mods.lock.journal on top of the installations read from mods.lock.json.
+     *
+     * @return the number of records applied
+     */
+    private int replayJournal(Map<String, InstalledState> installations) throws IOException {
+        if (!Files.exists(lockJournalPath)) {
+            journalBytes = 0;
+            return 0;
         }
+
+        int applied = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(lockJournalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                LockJournalRecord record;
+                try {
+                    record = journalGson.fromJson(line, LockJournalRecord.class);
+                } catch (JsonParseException e) {
+                    // Most likely a record cut off by a crash mid-append
+                    LOGGER.atWarning().log("Skipping unreadable line %d in mods.lock.journal: %s", lineNumber, e.getMessage());
+                    continue;
+                }
+                if (record == null || record.getOp() == null || record.getSourceId() == null) {
+                    continue;
+                }
+
+                switch (record.getOp()) {
+                    case INSTALL, UPGRADE -> {
+                        if (record.getInstallation() != null) {
+                            installations.put(record.getSourceId(), record.getInstallation());
+                        }
+                    }
+                    case REMOVE -> installations.remove(record.getSourceId());
+                    case TOUCH -> {
+                        InstalledState existing = installations.get(record.getSourceId());
+                        if (existing != null) {
+                            installations.put(record.getSourceId(), existing.toBuilder()
+                                    .lastChecked(record.getLastChecked())
+                                    .build());
+                        }
+                    }
+                }
+                applied++;
+            }
+        }
+        journalBytes = Files.size(lockJournalPath);
+        return applied;
+    }
+
+    private static ModListState modListState(ManagedModRegistry registry) {
+        List<ModListFile.ModListEntry> entries = registry.getAll().stream()
+                .map(mod -> new ModListFile.ModListEntry(
+                        mod.getModId(),
+                        mod.getName(),
+                        mod.getSlug(),
+                        mod.getSource(),
+                        mod.getPluginType(),
+                        mod.getDesiredVersionId(),
+                        mod.getAddedAt(),
+                        mod.getAddedViaUrl(),
+                        mod.getReleaseChannelOverride()
+                ))
+                .toList();
+        return new ModListState(registry.getName(), registry.getCreatedAt(), entries);
+    }
+
+    private static Map<String, InstalledState> installedStates(ManagedModRegistry registry) {
+        Map<String, InstalledState> states = new LinkedHashMap<>();
+        for (ManagedMod mod : registry.getInstalled()) {
+            states.put(mod.getSourceId(), mod.getInstalledState().orElseThrow());
+        }
+        return states;
     }
 
     /**
@@ -154,14 +457,18 @@ public class ManagedModStorage {
 
         try {
             // Load mods.json
-            String modsJson = Files.readString(modsJsonPath);
-            ModListFile modListFile = gson.fromJson(modsJson, ModListFile.class);
+            ModListFile modListFile;
+            try (Reader reader = Files.newBufferedReader(modsJsonPath, StandardCharsets.UTF_8)) {
+                modListFile = gson.fromJson(reader, ModListFile.class);
+            }
 
             // Load mods.lock.json (optional - may not exist if nothing installed)
-            LockFile lockFile = new LockFile();
-            if (Files.exists(modsLockPath)) {
-                String lockJson = Files.readString(modsLockPath);
-                lockFile = gson.fromJson(lockJson, LockFile.class);
+            Map<String, InstalledState> installations = Files.exists(modsLockPath)
+                    ? readLockSnapshot()
+                    : new HashMap<>();
+            int replayed;
+            synchronized (persistLock) {
+                replayed = replayJournal(installations);
             }
 
             // Merge into ManagedModRegistry
@@ -170,11 +477,6 @@ public class ManagedModStorage {
                     .createdAt(modListFile.getCreatedAt() != null ? modListFile.getCreatedAt() : Instant.now())
                     .lastModifiedAt(modListFile.getLastModifiedAt());
 
-            Map<String, LockFile.LockedInstallation> installations = lockFile.getInstallations();
-            if (installations == null) {
-                installations = new HashMap<>();
-            }
-
             for (ModListFile.ModListEntry entry : modListFile.getMods()) {
                 // Normalize source to lowercase (migration from old enum-based format)
                 String normalizedSource = entry.getSource() != null
@@ -194,20 +496,9 @@ public class ManagedModStorage {
 
                 // Check if there's a corresponding lock entry
                 String sourceId = entry.getSourceId();
-                LockFile.LockedInstallation installation = installations.get(sourceId);
-                if (installation != null) {
-                    InstalledState state = InstalledState.builder()
-                            .identifier(installation.getIdentifier())
-                            .installedVersionId(installation.getInstalledVersionId())
-                            .installedVersionNumber(installation.getInstalledVersionNumber())
-                            .filePath(installation.getFilePath())
-                            .fileName(installation.getFileName())
-                            .fileSize(installation.getFileSize())
-                            .fileHash(installation.getFileHash())
-                            .installedAt(installation.getInstalledAt())
-                            .lastChecked(installation.getLastChecked())
-                            .build();
-                    modBuilder.installedState(state);
+                InstalledState installedState = installations.get(sourceId);
+                if (installedState != null) {
+                    modBuilder.installedState(installedState);
                 }
 
                 builder.addMod(modBuilder.build());
@@ -215,8 +506,13 @@ public class ManagedModStorage {
 
             ManagedModRegistry loadedRegistry = builder.build();
             this.registry = loadedRegistry;
-            LOGGER.atInfo().log("Loaded %d mods from mods.json, %d installations from mods.lock.json",
-                    modListFile.getMods().size(), installations.size());
+            synchronized (persistLock) {
+                // Only what was actually read counts as persisted; anything else is written on next save
+                persistedModList = modListState(loadedRegistry);
+                persistedInstallations = installedStates(loadedRegistry);
+            }
+            LOGGER.atInfo().log("Loaded %d mods from mods.json, %d installations from mods.lock.json (%d journal records)",
+                    modListFile.getMods().size(), installations.size(), replayed);
             return Optional.of(loadedRegistry);
         } catch (IOException e) {
             LOGGER.atSevere().withCause(e).log("Failed to load managed mods");
@@ -363,43 +659,40 @@ public class ManagedModStorage {
     }
 
     /**
-     * Add a mod to the registry and save.
+     * Add a mod to the registry. The save happens in the background (see {@link #mutate}).
+     *
+     * @return a future completed once the change has been written to disk
      */
-    public void addMod(ManagedMod mod) {
-        this.registry = registry.toBuilder()
-                .addMod(mod)
-                .lastModifiedAt(Instant.now())
-                .build();
-        save();
+    public CompletableFuture<Void> addMod(ManagedMod mod) {
+        return mutate(builder -> builder.addMod(mod));
     }
 
     /**
-     * Remove a mod from the registry and save.
+     * Remove a mod from the registry. The save happens in the background (see {@link #mutate}).
+     *
+     * @return a future completed once the change has been written to disk
      */
-    public void removeMod(String sourceId) {
-        this.registry = registry.toBuilder()
-                .removeMod(sourceId)
-                .lastModifiedAt(Instant.now())
-                .build();
-        save();
+    public CompletableFuture<Void> removeMod(String sourceId) {
+        return mutate(builder -> builder.removeMod(sourceId));
     }
 
     /**
-     * Update a mod in the registry and save.
+     * Update a mod in the registry. The save happens in the background (see {@link #mutate}).
+     *
+     * @return a future completed once the change has been written to disk
      */
-    public void updateMod(ManagedMod mod) {
-        this.registry = registry.toBuilder()
+    public CompletableFuture<Void> updateMod(ManagedMod mod) {
+        return mutate(builder -> builder
                 .removeMod(mod.getSourceId())
-                .addMod(mod)
-                .lastModifiedAt(Instant.now())
-                .build();
-        save();
+                .addMod(mod));
     }
 
     /**
      * Reload the registry from disk.
+     * Pending changes are written first so they are not lost.
      */
     public void reload() {
+        flush().join();
         this.registry = load().orElse(ManagedModRegistry.empty());
     }
 
@@ -0,0 +1,173 @@
+package de.onyxmoon.modsync.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.hypixel.hytale.common.plugin.PluginIdentifier;
+import de.onyxmoon.modsync.api.PluginType;
+import de.onyxmoon.modsync.api.ReleaseChannel;
+import de.onyxmoon.modsync.api.model.InstalledState;
+import de.onyxmoon.modsync.storage.model.ModListFile;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Gson TypeAdapterFactory with hand-written streaming adapters for the storage
+ * entries that occur thousands of times per file.
+ * <p>
+ * The adapters produce exactly the JSON that reflection-based serialization produced
+ * before, so existing mods.json and mods.lock.json files stay compatible.
+ * {@link InstalledState} is written directly in the shape of a mods.lock.json
+ * installation entry, without an intermediate file model.
+ * Nested types (identifiers, enums, instants) are delegated to the owning Gson instance.
+ */
+public class StorageTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == ModListFile.ModListEntry.class) {
+            return (TypeAdapter<T>) new ModListEntryAdapter(gson).nullSafe();
+        }
+        if (rawType == InstalledState.class) {
+            return (TypeAdapter<T>) new InstalledStateAdapter(gson).nullSafe();
+        }
+        return null;
+    }
+
+    private static final class ModListEntryAdapter extends TypeAdapter<ModListFile.ModListEntry> {
+        private final TypeAdapter<PluginType> pluginTypeAdapter;
+        private final TypeAdapter<Instant> instantAdapter;
+        private final TypeAdapter<ReleaseChannel> releaseChannelAdapter;
+
+        ModListEntryAdapter(Gson gson) {
+            this.pluginTypeAdapter = gson.getAdapter(PluginType.class);
+            this.instantAdapter = gson.getAdapter(Instant.class);
+            this.releaseChannelAdapter = gson.getAdapter(ReleaseChannel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ModListFile.ModListEntry entry) throws IOException {
+            // Null values are dropped by the writer unless serializeNulls is enabled
+            out.beginObject();
+            out.name("modId").value(entry.getModId());
+            out.name("name").value(entry.getName());
+            out.name("slug").value(entry.getSlug());
+            out.name("source").value(entry.getSource());
+            out.name("pluginType");
+            pluginTypeAdapter.write(out, entry.getPluginType());
+            out.name("desiredVersionId").value(entry.getDesiredVersionId());
+            out.name("addedAt");
+            instantAdapter.write(out, entry.getAddedAt());
+            out.name("addedViaUrl").value(entry.getAddedViaUrl());
+            out.name("releaseChannelOverride");
+            releaseChannelAdapter.write(out, entry.getReleaseChannelOverride());
+            out.endObject();
+        }
+
+        @Override
+        public ModListFile.ModListEntry read(JsonReader in) throws IOException {
+            String modId = null;
+            String name = null;
+            String slug = null;
+            String source = null;
+            PluginType pluginType = null;
+            String desiredVersionId = null;
+            Instant addedAt = null;
+            String addedViaUrl = null;
+            ReleaseChannel releaseChannelOverride = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "modId" -> modId = nextStringOrNull(in);
+                    case "name" -> name = nextStringOrNull(in);
+                    case "slug" -> slug = nextStringOrNull(in);
+                    case "source" -> source = nextStringOrNull(in);
+                    case "pluginType" -> pluginType = pluginTypeAdapter.read(in);
+                    case "desiredVersionId" -> desiredVersionId = nextStringOrNull(in);
+                    case "addedAt" -> addedAt = instantAdapter.read(in);
+                    case "addedViaUrl" -> addedViaUrl = nextStringOrNull(in);
+                    case "releaseChannelOverride" -> releaseChannelOverride = releaseChannelAdapter.read(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new ModListFile.ModListEntry(modId, name, slug, source, pluginType,
+                    desiredVersionId, addedAt, addedViaUrl, releaseChannelOverride);
+        }
+    }
+
+    private static final class InstalledStateAdapter extends TypeAdapter<InstalledState> {
+        private final TypeAdapter<PluginIdentifier> identifierAdapter;
+        private final TypeAdapter<Instant> instantAdapter;
+
+        InstalledStateAdapter(Gson gson) {
+            this.identifierAdapter = gson.getAdapter(PluginIdentifier.class);
+            this.instantAdapter = gson.getAdapter(Instant.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, InstalledState state) throws IOException {
+            out.beginObject();
+            out.name("identifier");
+            identifierAdapter.write(out, state.getIdentifier());
+            out.name("installedVersionId").value(state.getInstalledVersionId());
+            out.name("installedVersionNumber").value(state.getInstalledVersionNumber());
+            out.name("filePath").value(state.getFilePath());
+            out.name("fileName").value(state.getFileName());
+            out.name("fileSize").value(state.getFileSize());
+            out.name("fileHash").value(state.getFileHash());
+            out.name("installedAt");
+            instantAdapter.write(out, state.getInstalledAt());
+            out.name("lastChecked");
+            instantAdapter.write(out, state.getLastChecked());
+            out.endObject();
+        }
+
+        @Override
+        public InstalledState read(JsonReader in) throws IOException {
+            InstalledState.Builder builder = InstalledState.builder();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "identifier" -> builder.identifier(identifierAdapter.read(in));
+                    case "installedVersionId" -> builder.installedVersionId(nextStringOrNull(in));
+                    case "installedVersionNumber" -> builder.installedVersionNumber(nextStringOrNull(in));
+                    case "filePath" -> builder.filePath(nextStringOrNull(in));
+                    case "fileName" -> builder.fileName(nextStringOrNull(in));
+                    case "fileSize" -> {
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                        } else {
+                            builder.fileSize(in.nextLong());
+                        }
+                    }
+                    case "fileHash" -> builder.fileHash(nextStringOrNull(in));
+                    case "installedAt" -> builder.installedAt(instantAdapter.read(in));
+                    case "lastChecked" -> builder.lastChecked(instantAdapter.read(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return builder.build();
+        }
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
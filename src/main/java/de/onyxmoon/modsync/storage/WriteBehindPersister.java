@@ -0,0 +1,141 @@
+package de.onyxmoon.modsync.storage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a write action on a single dedicated thread, debouncing bursts of requests.
+ * <p>
+ * Each {@link #requestWrite()} (re)starts a short quiet period; the write runs once no
+ * further request arrived for {@code debounceMillis}, but never later than
+ * {@code maxDelayMillis} after the first request of the burst. All requests of a
+ * burst share one write and one future. Since every write runs on the same thread,
+ * writes never overlap and always happen in request order.
+ */
+class WriteBehindPersister {
+    private final Runnable writer;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this
+    private CompletableFuture<Void> pending;
+    private ScheduledFuture<?> scheduled;
+    private long deadline;
+
+    /**
+     * @param threadName     name of the writer thread
+     * @param debounceMillis quiet period before a write starts
+     * @param maxDelayMillis upper bound for deferring a requested write
+     * @param writer         the write action; failures are reported through the returned futures
+     */
+    WriteBehindPersister(String threadName, long debounceMillis, long maxDelayMillis, Runnable writer) {
+        this.writer = writer;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(threadName).daemon().factory());
+    }
+
+    /**
+     * Requests a deferred write.
+     *
+     * @return a future completed once a write started after this request has finished
+     */
+    synchronized CompletableFuture<Void> requestWrite() {
+        long now = System.nanoTime();
+        if (pending == null) {
+            pending = new CompletableFuture<>();
+            deadline = now + maxDelayNanos;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        long delay = Math.min(debounceNanos, Math.max(0, deadline - now));
+        try {
+            scheduled = executor.schedule(this::writePending, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Already shut down - write on the caller's thread instead of losing the change
+            scheduled = null;
+            return writeInline();
+        }
+        return pending;
+    }
+
+    /**
+     * Writes immediately, after any write already in progress.
+     *
+     * @return a future completed once the write has finished
+     */
+    CompletableFuture<Void> flush() {
+        CompletableFuture<Void> result;
+        synchronized (this) {
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+            }
+            result = pending;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        try {
+            executor.execute(this::writePending);
+        } catch (RejectedExecutionException e) {
+            return writeInline();
+        }
+        return result;
+    }
+
+    /**
+     * Flushes outstanding writes and stops the writer thread.
+     *
+     * @param timeoutSeconds how long to wait for the final write
+     * @return true if the final write completed in time
+     */
+    boolean shutdown(long timeoutSeconds) {
+        CompletableFuture<Void> finalWrite = flush();
+        executor.shutdown();
+        try {
+            finalWrite.get(timeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private synchronized CompletableFuture<Void> writeInline() {
+        if (pending == null) {
+            pending = new CompletableFuture<>();
+        }
+        CompletableFuture<Void> commit = pending;
+        writePending();
+        return commit;
+    }
+
+    private void writePending() {
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            commit = pending;
+            pending = null;
+            scheduled = null;
+        }
+        if (commit == null) {
+            // Already written by an earlier flush
+            return;
+        }
+        try {
+            writer.run();
+            commit.complete(null);
+        } catch (RuntimeException e) {
+            commit.completeExceptionally(e);
+        }
+    }
+}
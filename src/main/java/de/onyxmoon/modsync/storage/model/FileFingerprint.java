@@ -0,0 +1,78 @@
+package de.onyxmoon.modsync.storage.model;
+
+import com.hypixel.hytale.common.plugin.PluginIdentifier;
+
+import java.util.Objects;
+
+/**
+ * JSON structure for a single entry in file_fingerprints.json.
+ * Caches the expensive-to-compute facts about a plugin file (hash, manifest data),
+ * keyed by the cheap-to-read file attributes (size, modification time, file key).
+ * An entry is only valid while all attributes still match the file on disk.
+ */
+public class FileFingerprint {
+    private String path;
+    private long size;
+    private long lastModified;
+    private String fileKey;
+    private String sha256;
+    private PluginIdentifier identifier;
+    private String manifestVersion;
+
+    public FileFingerprint() {
+    }
+
+    public FileFingerprint(String path, long size, long lastModified, String fileKey,
+                           String sha256, PluginIdentifier identifier, String manifestVersion) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.fileKey = fileKey;
+        this.sha256 = sha256;
+        this.identifier = identifier;
+        this.manifestVersion = manifestVersion;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * @return the plugin identifier from the manifest, or null if the file has no readable manifest
+     */
+    public PluginIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @return the version declared in the manifest, or null if the file has no readable manifest
+     */
+    public String getManifestVersion() {
+        return manifestVersion;
+    }
+
+    /**
+     * Checks whether this entry still describes the file with the given attributes.
+     */
+    public boolean matches(long size, long lastModified, String fileKey) {
+        return this.size == size
+                && this.lastModified == lastModified
+                && Objects.equals(this.fileKey, fileKey);
+    }
+}
@@ -0,0 +1,66 @@
+package de.onyxmoon.modsync.storage.model;
+
+import de.onyxmoon.modsync.api.model.InstalledState;
+
+import java.time.Instant;
+
+/**
+ * A single line in mods.lock.journal - one change to the installation state.
+ * Records are appended as they happen and replayed on top of mods.lock.json on load.
+ * Replaying a record twice has no further effect, so a journal that survived a
+ * compaction can safely be replayed again. Installations use the same JSON shape
+ * as the entries in mods.lock.json.
+ *
+ * @see de.onyxmoon.modsync.storage.ManagedModStorage
+ */
+public class LockJournalRecord {
+
+    public enum Operation {
+        /** A mod was installed; carries the full installation */
+        INSTALL,
+        /** An installed mod changed (new version, file, hash); carries the full installation */
+        UPGRADE,
+        /** A mod's installation state was removed */
+        REMOVE,
+        /** Only the lastChecked timestamp changed */
+        TOUCH
+    }
+
+    private Operation op;
+    private String sourceId;
+    private Instant recordedAt;
+    private InstalledState installation;
+    private Instant lastChecked;
+
+    public LockJournalRecord() {
+    }
+
+    public LockJournalRecord(Operation op, String sourceId, Instant recordedAt,
+                             InstalledState installation, Instant lastChecked) {
+        this.op = op;
+        this.sourceId = sourceId;
+        this.recordedAt = recordedAt;
+        this.installation = installation;
+        this.lastChecked = lastChecked;
+    }
+
+    public Operation getOp() {
+        return op;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public InstalledState getInstallation() {
+        return installation;
+    }
+
+    public Instant getLastChecked() {
+        return lastChecked;
+    }
+}
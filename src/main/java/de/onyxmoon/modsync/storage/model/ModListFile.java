@@ -6,6 +6,7 @@ import de.onyxmoon.modsync.api.ReleaseChannel;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * JSON structure for mods.json - the mod list file.
@@ -127,5 +128,27 @@ public class ModListFile {
         public String getSourceId() {
             return source.toLowerCase() + ":" + modId;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ModListEntry that = (ModListEntry) o;
+            return Objects.equals(modId, that.modId) &&
+                    Objects.equals(name, that.name) &&
+                    Objects.equals(slug, that.slug) &&
+                    Objects.equals(source, that.source) &&
+                    pluginType == that.pluginType &&
+                    Objects.equals(desiredVersionId, that.desiredVersionId) &&
+                    Objects.equals(addedAt, that.addedAt) &&
+                    Objects.equals(addedViaUrl, that.addedViaUrl) &&
+                    releaseChannelOverride == that.releaseChannelOverride;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(modId, name, slug, source, pluginType, desiredVersionId,
+                    addedAt, addedViaUrl, releaseChannelOverride);
+        }
     }
 }
@@ -0,0 +1,87 @@
+package de.onyxmoon.modsync.storage.model;
+
+import java.time.Instant;
+
+/**
+ * JSON structure for modlist.meta.json - a small sidecar next to modlist.json.
+ * Holds the facts status queries need, so they can be answered without reading
+ * and deserializing the full mod list. The content hash ties the sidecar to the
+ * exact modlist.json it was written with; the file size, modification time and file
+ * key of that modlist.json let readers check this without hashing the file.
+ */
+public class ModListMetadata {
+    private Instant storedAt;
+    private String source;
+    private String projectId;
+    private String projectName;
+    private int modCount;
+    private String contentHash;
+    private long fileSize;
+    private long fileModifiedAt;
+    private String fileKey;
+
+    public ModListMetadata() {
+    }
+
+    public ModListMetadata(Instant storedAt, String source, String projectId, String projectName,
+                           int modCount, String contentHash, long fileSize, long fileModifiedAt, String fileKey) {
+        this.storedAt = storedAt;
+        this.source = source;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.modCount = modCount;
+        this.contentHash = contentHash;
+        this.fileSize = fileSize;
+        this.fileModifiedAt = fileModifiedAt;
+        this.fileKey = fileKey;
+    }
+
+    public Instant getStoredAt() {
+        return storedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * @return SHA-256 of modlist.json in format "sha256:hexstring"
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * @return size of modlist.json in bytes when the sidecar was written
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @return modification time of modlist.json in epoch milliseconds when the sidecar was written
+     */
+    public long getFileModifiedAt() {
+        return fileModifiedAt;
+    }
+
+    /**
+     * @return file system key of modlist.json (e.g. device and inode) when the sidecar was written,
+     * or null if the file system has none
+     */
+    public String getFileKey() {
+        return fileKey;
+    }
+}
@@ -2,6 +2,7 @@ package de.onyxmoon.modsync.storage.model;
 
 import de.onyxmoon.modsync.api.ReleaseChannel;
 import de.onyxmoon.modsync.scheduler.UpdateMode;
+import de.onyxmoon.modsync.service.ProviderResolutionMode;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +21,41 @@ public class PluginConfig {
      */
     public static final int DEFAULT_UPDATE_INTERVAL_MINUTES = 60;
 
+    /**
+     * Default time-to-live for cached provider lookups in seconds.
+     */
+    public static final int DEFAULT_PROVIDER_CACHE_TTL_SECONDS = 300;
+
+    /**
+     * Default delay in milliseconds before the next provider is asked in hedged resolution.
+     */
+    public static final int DEFAULT_PROVIDER_HEDGE_DELAY_MILLIS = 1500;
+
+    /**
+     * Default maximum number of downloads running at once.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 6;
+
+    /**
+     * Default maximum number of downloads running at once from the same host.
+     */
+    public static final int DEFAULT_MAX_DOWNLOADS_PER_HOST = 3;
+
+    /**
+     * Default number of parallel segments for large downloads.
+     */
+    public static final int DEFAULT_DOWNLOAD_SEGMENTS = 4;
+
+    /**
+     * Default minimum file size in megabytes for segmented downloads.
+     */
+    public static final int DEFAULT_SEGMENTED_DOWNLOAD_THRESHOLD_MB = 100;
+
+    /**
+     * Default maximum size of the artifact store in megabytes.
+     */
+    public static final int DEFAULT_ARTIFACT_STORE_MAX_SIZE_MB = 2048;
+
     /**
      * API keys per provider source identifier (e.g., "curseforge", "modtale").
      */
@@ -45,6 +81,23 @@ public class PluginConfig {
     // Admin welcome message configuration
     private boolean disableAdminWelcomeMessage;
 
+    // Provider lookup cache
+    private int providerCacheTtlSeconds;
+
+    // Provider resolution for mod URLs
+    private ProviderResolutionMode providerResolutionMode;
+    private int providerHedgeDelayMillis;
+
+    // Download concurrency
+    private int maxConcurrentDownloads;
+    private int maxDownloadsPerHost;
+    private int downloadSegments;
+    private int segmentedDownloadThresholdMb;
+
+    // Artifact store
+    private String artifactStorePath;
+    private int artifactStoreMaxSizeMb;
+
     public PluginConfig() {
         this.apiKeys = new HashMap<>();
         this.updateMode = UpdateMode.MANUAL;
@@ -54,6 +107,14 @@ public class PluginConfig {
         this.checkForPluginUpdates = true;
         this.includePrereleases = false;
         this.disableAdminWelcomeMessage = false;
+        this.providerCacheTtlSeconds = DEFAULT_PROVIDER_CACHE_TTL_SECONDS;
+        this.providerResolutionMode = ProviderResolutionMode.HEDGED;
+        this.providerHedgeDelayMillis = DEFAULT_PROVIDER_HEDGE_DELAY_MILLIS;
+        this.maxConcurrentDownloads = DEFAULT_MAX_CONCURRENT_DOWNLOADS;
+        this.maxDownloadsPerHost = DEFAULT_MAX_DOWNLOADS_PER_HOST;
+        this.downloadSegments = DEFAULT_DOWNLOAD_SEGMENTS;
+        this.segmentedDownloadThresholdMb = DEFAULT_SEGMENTED_DOWNLOAD_THRESHOLD_MB;
+        this.artifactStoreMaxSizeMb = DEFAULT_ARTIFACT_STORE_MAX_SIZE_MB;
     }
 
     public Map<String, String> getApiKeys() {
@@ -181,4 +242,124 @@ public class PluginConfig {
     public void setDefaultReleaseChannel(ReleaseChannel defaultReleaseChannel) {
         this.defaultReleaseChannel = defaultReleaseChannel;
     }
+
+    /**
+     * How long provider lookups (mod details, slug lookups, searches) are cached.
+     * A value of 0 disables the cache.
+     *
+     * @return the cache time-to-live in seconds
+     */
+    public int getProviderCacheTtlSeconds() {
+        return Math.max(0, providerCacheTtlSeconds);
+    }
+
+    public void setProviderCacheTtlSeconds(int providerCacheTtlSeconds) {
+        this.providerCacheTtlSeconds = providerCacheTtlSeconds;
+    }
+
+    /**
+     * How the providers that can resolve a mod URL are queried.
+     *
+     * @return the resolution mode, or HEDGED if not set
+     */
+    public ProviderResolutionMode getProviderResolutionMode() {
+        return providerResolutionMode != null ? providerResolutionMode : ProviderResolutionMode.HEDGED;
+    }
+
+    public void setProviderResolutionMode(ProviderResolutionMode providerResolutionMode) {
+        this.providerResolutionMode = providerResolutionMode;
+    }
+
+    /**
+     * How long hedged resolution waits for a provider before also asking the next one.
+     *
+     * @return the hedge delay in milliseconds
+     */
+    public int getProviderHedgeDelayMillis() {
+        return Math.max(0, providerHedgeDelayMillis);
+    }
+
+    public void setProviderHedgeDelayMillis(int providerHedgeDelayMillis) {
+        this.providerHedgeDelayMillis = providerHedgeDelayMillis;
+    }
+
+    /**
+     * Maximum number of mod downloads running at once.
+     *
+     * @return the download limit, at least 1
+     */
+    public int getMaxConcurrentDownloads() {
+        return Math.max(1, maxConcurrentDownloads);
+    }
+
+    public void setMaxConcurrentDownloads(int maxConcurrentDownloads) {
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+    }
+
+    /**
+     * Maximum number of mod downloads running at once from the same host.
+     *
+     * @return the per-host download limit, at least 1
+     */
+    public int getMaxDownloadsPerHost() {
+        return Math.max(1, maxDownloadsPerHost);
+    }
+
+    public void setMaxDownloadsPerHost(int maxDownloadsPerHost) {
+        this.maxDownloadsPerHost = maxDownloadsPerHost;
+    }
+
+    /**
+     * Number of parallel connections used for downloads above the segmented download threshold.
+     * A value of 1 disables segmented downloads.
+     *
+     * @return the segment count, at least 1
+     */
+    public int getDownloadSegments() {
+        return Math.max(1, downloadSegments);
+    }
+
+    public void setDownloadSegments(int downloadSegments) {
+        this.downloadSegments = downloadSegments;
+    }
+
+    /**
+     * Minimum file size for a download to be split into segments.
+     *
+     * @return the threshold in megabytes
+     */
+    public int getSegmentedDownloadThresholdMb() {
+        return Math.max(0, segmentedDownloadThresholdMb);
+    }
+
+    public void setSegmentedDownloadThresholdMb(int segmentedDownloadThresholdMb) {
+        this.segmentedDownloadThresholdMb = segmentedDownloadThresholdMb;
+    }
+
+    /**
+     * Folder of the artifact store, absolute or relative to the server root.
+     * Point several servers at the same folder to share downloaded files between them.
+     *
+     * @return the configured path, or null for the default folder in the plugin's data directory
+     */
+    public String getArtifactStorePath() {
+        return artifactStorePath != null && !artifactStorePath.isBlank() ? artifactStorePath : null;
+    }
+
+    public void setArtifactStorePath(String artifactStorePath) {
+        this.artifactStorePath = artifactStorePath;
+    }
+
+    /**
+     * Maximum total size of the files in the artifact store. A value of 0 disables the store.
+     *
+     * @return the size in megabytes
+     */
+    public int getArtifactStoreMaxSizeMb() {
+        return Math.max(0, artifactStoreMaxSizeMb);
+    }
+
+    public void setArtifactStoreMaxSizeMb(int artifactStoreMaxSizeMb) {
+        this.artifactStoreMaxSizeMb = artifactStoreMaxSizeMb;
+    }
 }
@@ -0,0 +1,52 @@
+package de.onyxmoon.modsync.storage.model;
+
+/**
+ * JSON structure for a single entry in the artifact store index.
+ * Maps a provider file to the content-addressed object holding its bytes.
+ * Several entries may share one object if providers serve identical files.
+ */
+public class StoredArtifact {
+    private String sha256;
+    private long size;
+    private String fileName;
+    private long lastUsed;
+
+    public StoredArtifact() {
+    }
+
+    public StoredArtifact(String sha256, long size, String fileName, long lastUsed) {
+        this.sha256 = sha256;
+        this.size = size;
+        this.fileName = fileName;
+        this.lastUsed = lastUsed;
+    }
+
+    /**
+     * @return the file hash in format "sha256:hexstring"
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the file name the artifact was installed under
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return when the artifact was last stored or installed, in epoch milliseconds
+     */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public void setLastUsed(long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+}
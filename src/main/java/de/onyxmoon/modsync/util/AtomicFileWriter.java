@@ -0,0 +1,198 @@
+package de.onyxmoon.modsync.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Utility class for replacing files atomically.
+ * <p>
+ * Content is written to a temp file next to the target, forced to disk and then
+ * renamed over the target, so readers (and a crashed server) only ever see the old
+ * or the new file, never a truncated one. The {@code NoSync} variants skip forcing the
+ * content to disk: readers still never see a partial file, but a crash may lose the
+ * new content. They suit caches, which can always be rebuilt.
+ */
+public final class AtomicFileWriter {
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Produces file content by writing characters to the given writer.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    /**
+     * Produces file content by writing bytes to the given stream.
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private AtomicFileWriter() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Atomically replaces the target file with the given UTF-8 content.
+     *
+     * @param target  the file to write
+     * @param content the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void writeString(Path target, String content) throws IOException {
+        write(target, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Atomically replaces the target file with the given bytes.
+     *
+     * @param target  the file to write
+     * @param content the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        replace(target, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+    }
+
+    /**
+     * Atomically replaces the target file with UTF-8 text streamed by the given writer,
+     * without building the whole content in memory first.
+     *
+     * @param target  the file to write
+     * @param content writes the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void write(Path target, ContentWriter content) throws IOException {
+        replace(target, channel -> {
+            // Not closed here: closing the writer would close the channel before it is forced
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+            content.writeTo(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Atomically replaces the target file with bytes streamed by the given writer,
+     * without building the whole content in memory first.
+     *
+     * @param target  the file to write
+     * @param content writes the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void writeStream(Path target, StreamWriter content) throws IOException {
+        replace(target, channel -> {
+            // Not closed here: closing the stream would close the channel before it is forced
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITER_BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+        });
+    }
+
+    /**
+     * Like {@link #writeString(Path, String)}, but without forcing the content to disk.
+     * Several threads may write the same target at once; the last rename wins.
+     *
+     * @param target  the file to write
+     * @param content the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void writeStringNoSync(Path target, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        replace(target, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }, false);
+    }
+
+    /**
+     * Like {@link #writeStream(Path, StreamWriter)}, but without forcing the content to disk.
+     * Several threads may write the same target at once; the last rename wins.
+     *
+     * @param target  the file to write
+     * @param content writes the new content
+     * @throws IOException if writing or renaming fails
+     */
+    public static void writeStreamNoSync(Path target, StreamWriter content) throws IOException {
+        replace(target, channel -> {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITER_BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+        }, false);
+    }
+
+    /**
+     * Atomically replaces the target file with UTF-8 text streamed by the given writer
+     * and hashes the written bytes on the way to disk.
+     *
+     * @param target  the file to write
+     * @param content writes the new content
+     * @return the SHA-256 hash of the written file in format "sha256:hexstring"
+     * @throws IOException if writing or renaming fails
+     */
+    public static String writeHashed(Path target, ContentWriter content) throws IOException {
+        String[] hash = new String[1];
+        replace(target, channel -> {
+            DigestingWritableByteChannel hashing = new DigestingWritableByteChannel(channel);
+            Writer writer = new BufferedWriter(Channels.newWriter(hashing, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+            content.writeTo(writer);
+            writer.flush();
+            hash[0] = hashing.getSha256();
+        });
+        return hash[0];
+    }
+
+    private interface ChannelWriter {
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    private static void replace(Path target, ChannelWriter content) throws IOException {
+        replace(target, content, true);
+    }
+
+    private static void replace(Path target, ChannelWriter content, boolean sync) throws IOException {
+        // Durable writes are serialized by their callers; unsynced ones may run concurrently
+        Path tempFile = target.resolveSibling(target.getFileName()
+                + (sync ? "" : "." + UUID.randomUUID()) + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                content.writeTo(channel);
+                if (sync) {
+                    channel.force(true);
+                }
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Content writers may also fail unchecked (e.g. while parsing what they copy)
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package de.onyxmoon.modsync.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a download does not match the length or hash published by the provider.
+ * <p>
+ * Bytes already written cannot be trusted, so a retry must start over instead of
+ * resuming.
+ */
+public class ChecksumMismatchException extends IOException {
+    public ChecksumMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,152 @@
+package de.onyxmoon.modsync.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Channel wrapper that computes a SHA-256 digest and byte count of everything
+ * written through it. Used to hash downloads inline while they are written to disk,
+ * so the file does not have to be read back afterwards.
+ * <p>
+ * Given an {@link ExpectedChecksum}, it also verifies the download against what the
+ * provider published: a write that would exceed the expected length fails before it
+ * reaches the delegate, and {@link #verify()} checks length and hash at the end.
+ */
+public final class DigestingWritableByteChannel implements WritableByteChannel {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel delegate;
+    private final MessageDigest digest;
+    private final ExpectedChecksum expected;
+    private final MessageDigest expectedDigest;
+    private long bytesWritten;
+
+    public DigestingWritableByteChannel(WritableByteChannel delegate) {
+        this(delegate, ExpectedChecksum.NONE);
+    }
+
+    /**
+     * @param delegate the channel to write to
+     * @param expected the provider's checksum to verify against
+     */
+    public DigestingWritableByteChannel(WritableByteChannel delegate, ExpectedChecksum expected) {
+        this.delegate = delegate;
+        this.digest = FileHashUtils.newSha256Digest();
+        this.expected = expected;
+        this.expectedDigest = expected.newDigest();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (expected.hasLength() && bytesWritten + src.remaining() > expected.length()) {
+            throw new ChecksumMismatchException(
+                    "Download exceeds the expected " + expected.length() + " bytes");
+        }
+        ByteBuffer view = src.duplicate();
+        int written = delegate.write(src);
+        if (written > 0) {
+            view.limit(view.position() + written);
+            if (expectedDigest != null) {
+                expectedDigest.update(view.duplicate());
+            }
+            digest.update(view);
+            bytesWritten += written;
+        }
+        return written;
+    }
+
+    /**
+     * Copies the given stream to this channel until end of stream.
+     * The input stream is not closed.
+     *
+     * @param in the stream to copy from
+     * @return the number of bytes copied
+     * @throws IOException if reading or writing fails
+     */
+    public long transferFrom(InputStream in) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(in);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long total = 0;
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                total += write(buffer);
+            }
+            buffer.clear();
+        }
+        return total;
+    }
+
+    /**
+     * Feeds content that is already in the destination (e.g. the part kept from an
+     * interrupted download) into the digest and byte count, without writing it again.
+     * Call before writing anything else.
+     *
+     * @param existing the content already written, read until end of stream
+     * @throws IOException if reading fails
+     */
+    public void digestExisting(ReadableByteChannel existing) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (existing.read(buffer) != -1) {
+            buffer.flip();
+            if (expectedDigest != null) {
+                expectedDigest.update(buffer.duplicate());
+            }
+            bytesWritten += buffer.remaining();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Checks everything written against the expected checksum. Call once, after all
+     * bytes have been written; does nothing if no checksum is expected.
+     *
+     * @throws ChecksumMismatchException if the length or the hash differs from the expected one
+     */
+    public void verify() throws IOException {
+        if (expected.hasLength() && bytesWritten != expected.length()) {
+            throw new ChecksumMismatchException(
+                    "Downloaded " + bytesWritten + " bytes, expected " + expected.length());
+        }
+        if (expectedDigest != null) {
+            String actual = HexFormat.of().formatHex(expectedDigest.digest());
+            if (!actual.equals(expected.hash())) {
+                throw new ChecksumMismatchException("Checksum mismatch: expected " + expected.algorithm() + " "
+                        + expected.hash() + " but got " + actual);
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Completes the digest. Call once, after all bytes have been written.
+     *
+     * @return the hash in format "sha256:hexstring"
+     */
+    public String getSha256() {
+        return FileHashUtils.formatSha256(digest);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,79 @@
+package de.onyxmoon.modsync.util;
+
+import de.onyxmoon.modsync.api.model.provider.ModVersion;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * What a download must look like according to the provider: its length and, if
+ * published, a hash. Only the strongest published hash is kept, so a download is
+ * hashed at most once more on top of the SHA-256 that is always computed.
+ *
+ * @param length    the expected length in bytes, or 0 if unknown
+ * @param algorithm the hash algorithm key (e.g. "sha1"), or null if no hash is known
+ * @param hash      the expected hash as lowercase hex, or null if no hash is known
+ */
+public record ExpectedChecksum(long length, String algorithm, String hash) {
+    /**
+     * Nothing is known about the download; nothing is checked.
+     */
+    public static final ExpectedChecksum NONE = new ExpectedChecksum(0, null, null);
+
+    /**
+     * Supported hash algorithms from strongest to weakest, by key and JCA name.
+     */
+    private static final List<Map.Entry<String, String>> ALGORITHMS = List.of(
+            Map.entry("sha512", "SHA-512"),
+            Map.entry("sha256", "SHA-256"),
+            Map.entry("sha1", "SHA-1"),
+            Map.entry("md5", "MD5")
+    );
+
+    /**
+     * Creates the expectation for a mod version's file from its published size and hashes.
+     *
+     * @param version the mod version
+     * @return the expectation; {@link #NONE} if the provider published neither
+     */
+    public static ExpectedChecksum of(ModVersion version) {
+        Map<String, String> hashes = version.getHashes();
+        for (Map.Entry<String, String> algorithm : ALGORITHMS) {
+            String hash = hashes.get(algorithm.getKey());
+            if (hash != null && !hash.isBlank()) {
+                return new ExpectedChecksum(version.getFileSize(), algorithm.getKey(),
+                        hash.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return version.getFileSize() > 0 ? new ExpectedChecksum(version.getFileSize(), null, null) : NONE;
+    }
+
+    /**
+     * @return whether the length is known
+     */
+    public boolean hasLength() {
+        return length > 0;
+    }
+
+    /**
+     * @return a fresh digest for the expected hash, or null if no hash is known
+     */
+    public MessageDigest newDigest() {
+        if (algorithm == null) {
+            return null;
+        }
+        String name = ALGORITHMS.stream()
+                .filter(entry -> entry.getKey().equals(algorithm))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unsupported hash algorithm: " + algorithm));
+        try {
+            return MessageDigest.getInstance(name);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(name + " not available", e);
+        }
+    }
+}
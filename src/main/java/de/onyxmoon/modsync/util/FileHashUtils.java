@@ -1,17 +1,30 @@
 package de.onyxmoon.modsync.util;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
 /**
  * Utility class for calculating file hashes.
+ * <p>
+ * Files are hashed in fixed-size chunks through a small heap buffer per call,
+ * so hashing large asset packs does not allocate the whole file on the heap.
+ * Callers run on short-lived virtual threads, so a per-thread buffer would not be
+ * reused; a heap buffer also lets the digest read the backing array directly.
  */
 public final class FileHashUtils {
 
+    /** Prefix used for all stored SHA-256 hashes */
+    public static final String SHA256_PREFIX = "sha256:";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private FileHashUtils() {
         // Utility class - prevent instantiation
     }
@@ -24,13 +37,66 @@ public final class FileHashUtils {
      * @throws IOException if the file cannot be read
      */
     public static String calculateSha256(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            return calculateSha256(channel);
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 hash of the remaining bytes of an already-open channel.
+     * Reads from the channel's current position until end of stream. The channel is not closed.
+     *
+     * @param channel the channel to read from
+     * @return the hash in format "sha256:hexstring"
+     * @throws IOException if the channel cannot be read
+     */
+    public static String calculateSha256(ReadableByteChannel channel) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        update(digest, channel);
+        return formatSha256(digest);
+    }
+
+    /**
+     * Feeds the remaining bytes of a channel into the given digest.
+     * The channel is not closed.
+     *
+     * @param digest  the digest to update
+     * @param channel the channel to read from
+     * @return the number of bytes read
+     * @throws IOException if the channel cannot be read
+     */
+    public static long update(MessageDigest digest, ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long total = 0;
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            total += buffer.remaining();
+            digest.update(buffer);
+            buffer.clear();
+        }
+        return total;
+    }
+
+    /**
+     * Creates a new SHA-256 message digest.
+     *
+     * @return a fresh SHA-256 digest
+     */
+    public static MessageDigest newSha256Digest() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] fileBytes = Files.readAllBytes(filePath);
-            byte[] hashBytes = digest.digest(fileBytes);
-            return "sha256:" + HexFormat.of().formatHex(hashBytes);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 not available", e);
         }
     }
+
+    /**
+     * Completes the digest and formats it as a stored hash string.
+     *
+     * @param digest a SHA-256 digest
+     * @return the hash in format "sha256:hexstring"
+     */
+    public static String formatSha256(MessageDigest digest) {
+        return SHA256_PREFIX + HexFormat.of().formatHex(digest.digest());
+    }
 }
@@ -5,24 +5,29 @@ import com.hypixel.hytale.codec.util.RawJsonReader;
 import com.hypixel.hytale.common.plugin.PluginIdentifier;
 import com.hypixel.hytale.common.plugin.PluginManifest;
 import com.hypixel.hytale.logger.HytaleLogger;
-import com.hypixel.hytale.server.core.plugin.PluginClassLoader;
-import com.hypixel.hytale.server.core.plugin.PluginManager;
 import de.onyxmoon.modsync.ModSync;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Optional;
-import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Utility class for reading plugin manifests from JAR files.
+ * <p>
+ * Manifests are read directly from the archive: {@link ZipFile} locates
+ * {@code manifest.json} through the central directory and only inflates that
+ * single entry, without creating a plugin class loader.
  */
 public final class ManifestReader {
     private static final HytaleLogger LOGGER = HytaleLogger.get(ModSync.LOG_NAME);
 
+    /** Name of the plugin manifest entry at the archive root */
+    public static final String MANIFEST_ENTRY = "manifest.json";
+
     private ManifestReader() {
         // Utility class - prevent instantiation
     }
@@ -34,26 +39,15 @@ public final class ManifestReader {
      * @return the manifest, or empty if it cannot be read
      */
     public static Optional<PluginManifest> readManifest(Path jarPath) {
-        try {
-            URL url = jarPath.toUri().toURL();
-            URL resource;
-            try (PluginClassLoader pluginClassLoader = new PluginClassLoader(new PluginManager(), false, url)) {
-                resource = pluginClassLoader.findResource("manifest.json");
-            }
-            if (resource == null) {
-                LOGGER.at(Level.FINE).log("No manifest.json found in '%s'", jarPath);
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            ZipEntry entry = zipFile.getEntry(MANIFEST_ENTRY);
+            if (entry == null || entry.isDirectory()) {
+                LOGGER.atFine().log("No manifest.json found in '%s'", jarPath);
                 return Optional.empty();
             }
 
-            try (
-                    InputStream stream = resource.openStream();
-                    InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)
-            ) {
-                char[] buffer = RawJsonReader.READ_BUFFER.get();
-                RawJsonReader rawJsonReader = new RawJsonReader(reader, buffer);
-                ExtraInfo extraInfo = ExtraInfo.THREAD_LOCAL.get();
-                PluginManifest manifest = PluginManifest.CODEC.decodeJson(rawJsonReader, extraInfo);
-                return Optional.ofNullable(manifest);
+            try (InputStream stream = zipFile.getInputStream(entry)) {
+                return decodeManifest(stream, jarPath);
             }
         } catch (Exception e) {
             LOGGER.atFine().log("Could not read manifest from %s: %s", jarPath.getFileName(), e.getMessage());
@@ -61,6 +55,28 @@ public final class ManifestReader {
         }
     }
 
+    /**
+     * Decodes a plugin manifest from a stream containing the manifest.json content.
+     * The stream is not closed.
+     *
+     * @param stream  the manifest content
+     * @param jarPath the archive the manifest belongs to (for logging)
+     * @return the manifest, or empty if it cannot be decoded
+     */
+    public static Optional<PluginManifest> decodeManifest(InputStream stream, Path jarPath) {
+        try {
+            InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+            char[] buffer = RawJsonReader.READ_BUFFER.get();
+            RawJsonReader rawJsonReader = new RawJsonReader(reader, buffer);
+            ExtraInfo extraInfo = ExtraInfo.THREAD_LOCAL.get();
+            PluginManifest manifest = PluginManifest.CODEC.decodeJson(rawJsonReader, extraInfo);
+            return Optional.ofNullable(manifest);
+        } catch (Exception e) {
+            LOGGER.atFine().log("Could not decode manifest from %s: %s", jarPath.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Reads the plugin identifier from a JAR file's manifest.
      *
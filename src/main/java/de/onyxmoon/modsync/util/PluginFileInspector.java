@@ -0,0 +1,52 @@
+package de.onyxmoon.modsync.util;
+
+import com.hypixel.hytale.common.plugin.PluginManifest;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Reads a plugin file and returns its hash, size and manifest together.
+ * <p>
+ * The raw bytes are hashed in one sequential pass without inflating any entry. The
+ * manifest is then read by {@link ManifestReader}, which finds {@code manifest.json}
+ * through the central directory and inflates only that entry; the file is still in
+ * the page cache from hashing, so this rarely touches the disk again.
+ */
+public final class PluginFileInspector {
+    private PluginFileInspector() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Result of inspecting a plugin file.
+     *
+     * @param path     the inspected file
+     * @param sha256   the file hash ("sha256:hexstring")
+     * @param size     the file size in bytes
+     * @param manifest the plugin manifest, or null if the file has none or it is unreadable
+     */
+    public record Inspection(Path path, String sha256, long size, PluginManifest manifest) {
+    }
+
+    /**
+     * Inspects a plugin file.
+     *
+     * @param path the JAR/ZIP file
+     * @return the inspection result
+     * @throws IOException if the file cannot be read
+     */
+    public static Inspection inspect(Path path) throws IOException {
+        MessageDigest digest = FileHashUtils.newSha256Digest();
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = FileHashUtils.update(digest, channel);
+        }
+
+        PluginManifest manifest = ManifestReader.readManifest(path).orElse(null);
+        return new Inspection(path, FileHashUtils.formatSha256(digest), size, manifest);
+    }
+}